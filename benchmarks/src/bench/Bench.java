@@ -0,0 +1,106 @@
+package bench;
+
+import java.util.Locale;
+
+// A small JMH-style runner. Each benchmark gets timed warm-up iterations and then measured ones;
+// an iteration calls the operation back to back until ITERATION_MS has passed (at least once).
+// Every result goes into a volatile sink so the JIT cannot throw the work away.
+//
+// Tune with -Dbench.warmup=3 -Dbench.iterations=5 -Dbench.iterationMs=1000
+public class Bench {
+
+    private static final int WARMUP = Integer.getInteger("bench.warmup", 3);
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 5);
+    private static final long ITERATION_MS = Long.getLong("bench.iterationMs", 1000);
+
+    private static volatile int sink;
+
+    public interface Operation {
+        Object run() throws Exception;
+    }
+
+    public static Result run(String name, String dataset, Operation operation) throws Exception {
+        return run(name, dataset, 1, operation);
+    }
+
+    // batch is how many units of work one call does; the score is per unit
+    public static Result run(String name, String dataset, int batch, Operation operation) throws Exception {
+        System.gc();
+        for (int i = 0; i < WARMUP; i++) {
+            iteration(operation);
+        }
+
+        double[] scores = new double[ITERATIONS];
+        long calls = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long[] timed = iteration(operation);
+            calls += timed[0];
+            scores[i] = (double) timed[1] / timed[0] / batch;
+        }
+        Result result = new Result(name, dataset, calls * batch, scores);
+        System.out.println(result);
+        return result;
+    }
+
+    // Returns {calls, elapsed nanoseconds}
+    private static long[] iteration(Operation operation) throws Exception {
+        long deadline = System.nanoTime() + ITERATION_MS * 1_000_000;
+        long start = System.nanoTime();
+        long calls = 0;
+        long now;
+        do {
+            consume(operation.run());
+            calls++;
+        } while ((now = System.nanoTime()) < deadline);
+        return new long[]{calls, now - start};
+    }
+
+    private static void consume(Object value) {
+        sink ^= System.identityHashCode(value);
+    }
+
+    public static String header() {
+        return String.format(Locale.ROOT, "%-28s %10s %12s %14s %12s %14s", "Benchmark", "dataset", "ops", "mean ns/op", "sd", "ops/s");
+    }
+
+    public static class Result {
+        private final String name;
+        private final String dataset;
+        private final long operations;
+        private final double mean;
+        private final double deviation;
+
+        Result(String name, String dataset, long operations, double[] scores) {
+            this.name = name;
+            this.dataset = dataset;
+            this.operations = operations;
+
+            double total = 0;
+            for (double score : scores) {
+                total += score;
+            }
+            mean = total / scores.length;
+            double squares = 0;
+            for (double score : scores) {
+                squares += (score - mean) * (score - mean);
+            }
+            deviation = scores.length > 1 ? Math.sqrt(squares / (scores.length - 1)) : 0;
+        }
+
+        public String getName() { return name; }
+        public String getDataset() { return dataset; }
+        public long getOperations() { return operations; }
+        public double getMeanNanos() { return mean; }
+        public double getDeviationNanos() { return deviation; }
+
+        public double getOpsPerSecond() {
+            return mean == 0 ? 0 : 1e9 / mean;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-28s %10s %12d %14.1f %12.1f %14.1f",
+                    name, dataset, operations, mean, deviation, getOpsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package bench;
+
+import Database.BudgetDAO;
+import Database.CategoryRegistry;
+import Database.DatabaseConnection;
+import Database.RollupTables;
+import Database.SchemaMigrations;
+import models.Money;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fills the database with synthetic users for sizing runs. It first adds any of the ledgers'
+// categories that are missing. Then, for each user, it writes a login, an opening deposit and
+// some years of transactions up to yesterday (see SyntheticLedger). It also writes the rollups
+// for them, a current balance that matches, and a budget for every expense category.
+// Transactions go in the way StatementImporter writes them: batched inserts, with one rollup
+// delta and commit per batch.
+//
+// Users are named loadsim_00001, loadsim_00002, ... and all log in with PASSWORD. Existing users
+// are skipped, so running again only adds the missing ones. The user row commits with the first
+// batch, and a user that fails part-way is deleted with everything already committed for it, so
+// no half-generated user is left for a rerun to skip or LoadSimulator to log into.
+//
+// Usage: DataGenerator [users] [years] [spends per day] [workers] [seed]
+public class DataGenerator {
+
+    public static final String USER_PREFIX = "loadsim_";
+    public static final String PASSWORD = "loadsim";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final long PROGRESS_INTERVAL_MS = 10_000;
+
+    private final int years;
+    private final double spendsPerDay;
+    private final long seed;
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong rows = new AtomicLong();
+
+    public DataGenerator(int years, double spendsPerDay, long seed) {
+        this.years = years;
+        this.spendsPerDay = spendsPerDay;
+        this.seed = seed;
+    }
+
+    public static String username(int index) {
+        return String.format("%s%05d", USER_PREFIX, index);
+    }
+
+    public static String phoneNumber(int index) {
+        return String.format("07%08d", index);
+    }
+
+    public void run(int users, int workers) throws SQLException, InterruptedException {
+        ensureCategories();
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        for (int index = 1; index <= users; index++) {
+            int user = index;
+            pool.execute(() -> generateUser(user));
+        }
+        pool.shutdown();
+        while (!pool.awaitTermination(PROGRESS_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+            System.out.println(progress(start));
+        }
+        System.out.println((failed.get() == 0 ? "✅ " : "⚠️ ") + progress(start));
+    }
+
+    private String progress(long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return String.format("DataGenerator[created=%d, skipped=%d, failed=%d, rows=%d, elapsed=%.1fs, rate=%.0f rows/s]",
+                created.get(), skipped.get(), failed.get(), rows.get(), seconds, seconds == 0 ? 0 : rows.get() / seconds);
+    }
+
+    private void ensureCategories() throws SQLException {
+        Map<String, String> wanted = new HashMap<>();
+        for (String name : SyntheticLedger.expenseCategories()) {
+            wanted.put(name, "EXPENSE");
+        }
+        wanted.put(SyntheticLedger.SALARY, "INCOME");
+        wanted.put(SyntheticLedger.OTHER_INCOME, "INCOME");
+
+        CategoryRegistry.Snapshot categories = CategoryRegistry.refresh(true);
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            PreparedStatement insert = conn.prepareStatement("INSERT INTO categories (category_name, category_type) VALUES (?, ?)");
+            for (Map.Entry<String, String> category : wanted.entrySet()) {
+                if (categories.byName(category.getKey()) == null) {
+                    insert.setString(1, category.getKey());
+                    insert.setString(2, category.getValue());
+                    insert.executeUpdate();
+                    System.out.println("Added category " + category.getKey());
+                }
+            }
+        }
+
+        categories = CategoryRegistry.refresh(true);
+        for (String name : wanted.keySet()) {
+            categoryIds.put(name, categories.byName(name).getId());
+        }
+    }
+
+    private void generateUser(int index) {
+        String username = username(index);
+        // Users differ in how much they spend, which also sets their salary
+        SplittableRandom random = new SplittableRandom(seed * 1_000_003 + index);
+        SyntheticLedger ledger = new SyntheticLedger(random.nextLong(), spendsPerDay * Math.exp(0.5 * random.nextGaussian()));
+
+        int userId = 0;
+        try {
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                PreparedStatement check = conn.prepareStatement("SELECT user_id FROM users WHERE username = ?");
+                check.setString(1, username);
+                if (check.executeQuery().next()) {
+                    skipped.incrementAndGet();
+                    return;
+                }
+
+                // The user row goes in with the first batch of transactions
+                conn.setAutoCommit(false);
+                String insertUser = "INSERT INTO users (username, password, email, phone_number, current_balance) VALUES (?, ?, ?, ?, 0.00)";
+                PreparedStatement userStmt = conn.prepareStatement(insertUser, Statement.RETURN_GENERATED_KEYS);
+                userStmt.setString(1, username);
+                userStmt.setString(2, PASSWORD);
+                userStmt.setString(3, username + "@loadsim.example");
+                userStmt.setString(4, phoneNumber(index));
+                userStmt.executeUpdate();
+                ResultSet keys = userStmt.getGeneratedKeys();
+                keys.next();
+                userId = keys.getInt(1);
+
+                // Up to yesterday, so nothing is dated after transactions the app adds from now on
+                LocalDate to = LocalDate.now().minusDays(1);
+                LocalDate from = to.minusYears(years).plusDays(1);
+                long opening = ledger.getStartingSalary();
+
+                UserWriter writer = new UserWriter(conn, userId);
+                writer.accept(from.atStartOfDay(), true, opening, SyntheticLedger.OTHER_INCOME, "Opening balance", opening);
+                long closing = ledger.generate(from, to, opening, writer);
+                writer.flush();
+
+                PreparedStatement balanceStmt = conn.prepareStatement("UPDATE users SET current_balance = ? WHERE user_id = ?");
+                Money.bind(balanceStmt, 1, closing);
+                balanceStmt.setInt(2, userId);
+                balanceStmt.executeUpdate();
+                conn.commit();
+            }
+
+            // A limit somewhere around what the user usually spends, so some budgets run over
+            for (String category : SyntheticLedger.expenseCategories()) {
+                long limit = Money.times(ledger.typicalMonthlySpend(category), 0.8 + 0.4 * random.nextDouble());
+                BudgetDAO.saveBudget(userId, category, Math.max(Money.ofMajor(100), limit / Money.ofMajor(100) * Money.ofMajor(100)));
+            }
+            created.incrementAndGet();
+        } catch (SQLException | RuntimeException e) {
+            failed.incrementAndGet();
+            System.out.println("❌ Generating " + username + " failed: " + e.getMessage());
+            if (userId > 0) {
+                deleteUser(username, userId);
+            }
+        }
+    }
+
+    // Removes a part-generated user and every row committed for it, so a rerun generates it again
+    private static void deleteUser(String username, int userId) {
+        String[] tables = {"budgets", RollupTables.DAILY_TABLE, RollupTables.MONTHLY_TABLE, "transactions", "users"};
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            for (String table : tables) {
+                PreparedStatement delete = conn.prepareStatement("DELETE FROM " + table + " WHERE user_id = ?");
+                delete.setInt(1, userId);
+                delete.executeUpdate();
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            System.out.println("❌ Could not remove part-generated " + username + "; delete it by hand: " + e.getMessage());
+        }
+    }
+
+    // Batches one user's rows; every BATCH_SIZE rows the batch, its rollup delta and a commit go out together
+    private class UserWriter implements SyntheticLedger.Sink {
+        private final Connection conn;
+        private final int userId;
+        private final PreparedStatement insertStmt;
+        private RollupTables.Delta delta = new RollupTables.Delta();
+        private int pending;
+
+        UserWriter(Connection conn, int userId) throws SQLException {
+            this.conn = conn;
+            this.userId = userId;
+            this.insertStmt = conn.prepareStatement("INSERT INTO transactions (user_id, category_id, amount, type, " +
+                    "description, balance_after, transaction_date) VALUES (?, ?, ?, ?, ?, ?, ?)");
+        }
+
+        @Override
+        public void accept(LocalDateTime date, boolean deposit, long amount, String category, String description,
+                           long balanceAfter) throws SQLException {
+            String type = deposit ? "DEPOSIT" : "WITHDRAWAL";
+            int categoryId = categoryIds.get(category);
+            insertStmt.setInt(1, userId);
+            insertStmt.setInt(2, categoryId);
+            Money.bind(insertStmt, 3, amount);
+            insertStmt.setString(4, type);
+            insertStmt.setString(5, description);
+            Money.bind(insertStmt, 6, balanceAfter);
+            insertStmt.setTimestamp(7, Timestamp.valueOf(date));
+            insertStmt.addBatch();
+            delta.add(categoryId, type, date.toLocalDate(), amount);
+
+            if (++pending == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (pending == 0) {
+                return;
+            }
+            insertStmt.executeBatch();
+            RollupTables.applyDelta(conn, userId, delta);
+            conn.commit();
+            rows.addAndGet(pending);
+            delta = new RollupTables.Delta();
+            pending = 0;
+        }
+    }
+
+    public static void main(String[] args) {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int years = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        double spendsPerDay = args.length > 2 ? Double.parseDouble(args[2]) : 3;
+        int workers = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+
+        SchemaMigrations.migrate();
+        try {
+            new DataGenerator(years, spendsPerDay, seed).run(users, workers);
+        } catch (SQLException | InterruptedException e) {
+            System.out.println("❌ Generation failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package bench;
+
+import gui.TransactionTableModel;
+import models.Budget;
+import models.TransactionStore;
+import models.User;
+import utils.CsvExporter;
+import utils.InsightsGenerator;
+import utils.InsightsStats;
+import utils.MoneyFormat;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+// Benchmarks for the data and reporting hot paths over synthetic ledgers (see SyntheticLedger),
+// held in a TransactionStore in place of the database, so no MySQL is needed and runs compare
+// like for like. Each dataset is built, benchmarked and dropped before the next.
+//
+// Usage: HotPathBenchmarks [row counts, comma separated] [benchmark name prefix]
+// e.g. HotPathBenchmarks 1000,100000 insights.
+// Run with a heap of at least 2 GB for the 1M dataset.
+public class HotPathBenchmarks {
+
+    private static final String DEFAULT_ROWS = "1000,100000,1000000";
+    private static final int FORMAT_BATCH = 4096;
+    private static final long SEED = 42;
+    private static final int USER_ID = 1;
+
+    private static String prefix = "";
+    private static final List<Bench.Result> results = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        String[] rowCounts = (args.length > 0 ? args[0] : DEFAULT_ROWS).split(",");
+        prefix = args.length > 1 ? args[1] : "";
+
+        System.out.println(Bench.header());
+        for (int i = 0; i < rowCounts.length; i++) {
+            int rows = Integer.parseInt(rowCounts[i].trim());
+            TransactionStore.View view = SyntheticLedger.store(USER_ID, rows, SEED).view();
+            String dataset = SyntheticLedger.label(rows);
+
+            if (i == 0) {
+                formatting(view, dataset);
+            }
+            tableModel(view, dataset);
+            insights(view, dataset);
+            budgets(view, dataset);
+            csvExport(view, dataset);
+        }
+
+        System.out.println();
+        System.out.println(Bench.header());
+        for (Bench.Result result : results) {
+            System.out.println(result);
+        }
+    }
+
+    private static void run(String name, String dataset, int batch, Bench.Operation operation) throws Exception {
+        if (name.startsWith(prefix)) {
+            results.add(Bench.run(name, dataset, batch, operation));
+        }
+    }
+
+    // Per amount; amounts are taken from the dataset so the digit groups are realistic
+    private static void formatting(TransactionStore.View view, String dataset) throws Exception {
+        long[] amounts = new long[FORMAT_BATCH];
+        for (int i = 0; i < FORMAT_BATCH; i++) {
+            amounts[i] = i % 2 == 0 ? view.getAmountMinor(i % view.size()) : view.getBalanceAfterMinor(i % view.size());
+        }
+
+        run("format.formatKSH", dataset, FORMAT_BATCH, () -> {
+            int length = 0;
+            for (long amount : amounts) {
+                length += MoneyFormat.formatKSH(amount).length();
+            }
+            return length;
+        });
+
+        StringBuilder out = new StringBuilder(32);
+        run("format.appendKSH", dataset, FORMAT_BATCH, () -> {
+            int length = 0;
+            for (long amount : amounts) {
+                out.setLength(0);
+                length += MoneyFormat.appendKSH(out, amount).length();
+            }
+            return length;
+        });
+    }
+
+    // Filters the store and reads every cell the table would paint, as search results do
+    private static void tableModel(TransactionStore.View view, String dataset) throws Exception {
+        TransactionTableModel model = new TransactionTableModel(USER_ID);
+        try {
+            run("tableModel.populate", dataset, 1, () -> {
+                model.showFiltered(view, view.filter(TransactionStore.ANY_TYPE, null, null, ""));
+                return readAllCells(model);
+            });
+            run("tableModel.search", dataset, 1, () -> {
+                model.showFiltered(view, view.filter(TransactionStore.ANY_TYPE, null, null, "uber"));
+                return readAllCells(model);
+            });
+        } finally {
+            model.dispose();
+        }
+    }
+
+    private static int readAllCells(TransactionTableModel model) {
+        int cells = 0;
+        for (int row = 0; row < model.getRowCount(); row++) {
+            for (int column = 0; column < model.getColumnCount(); column++) {
+                if (model.getValueAt(row, column) != null) {
+                    cells++;
+                }
+            }
+        }
+        return cells;
+    }
+
+    // A new generator per call, so the statistics are computed every time as on a cache miss
+    private static void insights(TransactionStore.View view, String dataset) throws Exception {
+        User user = new User(USER_ID, "bench", "bench@example.com", "0700000000",
+                view.getBalanceAfterMinor(view.size() - 1));
+
+        run("insights.stats", dataset, 1, () -> InsightsStats.from(view));
+        run("insights.sections", dataset, 1, () -> {
+            InsightsGenerator generator = new InsightsGenerator(user, view);
+            return generator.generateSpendingAnalysis().length()
+                    + generator.generateSavingsAnalysis().length()
+                    + generator.generateMonthlyComparison().length()
+                    + generator.generateSmartRecommendations().length();
+        });
+        run("insights.html", dataset, 1, () -> new InsightsGenerator(user, view).generateHTMLInsights());
+    }
+
+    // This month's spending per budgeted category and the alert level each budget bar would show.
+    // Each limit is the category's average month over the whole history.
+    private static void budgets(TransactionStore.View view, String dataset) throws Exception {
+        LocalDate today = LocalDate.now();
+        LocalDate first = LocalDate.ofEpochDay(view.getEpochDay(0));
+        long months = Math.max(1, ChronoUnit.MONTHS.between(first, today));
+        long[] history = view.sumByCategory(TransactionStore.WITHDRAWAL, first, today.plusDays(1));
+
+        String[] categories = SyntheticLedger.expenseCategories();
+        int[] codes = new int[categories.length];
+        long[] limits = new long[categories.length];
+        for (int b = 0; b < categories.length; b++) {
+            codes[b] = -1;
+            for (int c = 0; c < view.getCategoryCount(); c++) {
+                if (view.getCategoryName(c).equals(categories[b])) {
+                    codes[b] = c;
+                }
+            }
+            limits[b] = codes[b] >= 0 ? history[codes[b]] / months : 0;
+        }
+
+        run("budgets.evaluate", dataset, 1, () -> {
+            long[] spent = view.sumByCategory(TransactionStore.WITHDRAWAL, today.withDayOfMonth(1), today.plusDays(1));
+            int alerts = 0;
+            for (int b = 0; b < categories.length; b++) {
+                Budget budget = new Budget(b + 1, USER_ID, b + 1, categories[b], limits[b],
+                        codes[b] >= 0 ? spent[codes[b]] : 0);
+                double percentage = budget.getPercentage();
+                if (percentage > 75) {
+                    alerts += percentage > 100 ? 3 : percentage > 90 ? 2 : 1;
+                }
+            }
+            return alerts;
+        });
+    }
+
+    // The export's writer fed from a cursor stand-in, into a real file
+    private static void csvExport(TransactionStore.View view, String dataset) throws Exception {
+        Path file = Files.createTempFile("bench-export", ".csv");
+        CsvExporter.Progress progress = new CsvExporter.Progress() {
+            @Override
+            public void update(long rowsWritten, long totalRows) {
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return false;
+            }
+        };
+        try {
+            run("csv.export", dataset, 1, () -> {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    return CsvExporter.write(LedgerCursor.over(view), view.size(), channel, progress);
+                }
+            });
+            System.out.println("  export size " + dataset + ": " + Files.size(file) / 1024 + " KB");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
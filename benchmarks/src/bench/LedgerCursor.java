@@ -0,0 +1,45 @@
+package bench;
+
+import models.Money;
+import models.TransactionStore;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.format.DateTimeFormatter;
+
+// Database stand-in for the export: a forward-only ResultSet over a store view, newest first,
+// giving the same column text Connector/J gives for the export query (date, type, amount,
+// category, description, balance after). Only the calls CsvExporter.write makes are supported.
+public class LedgerCursor {
+
+    private static final DateTimeFormatter DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public static ResultSet over(TransactionStore.View view) {
+        int[] row = {view.size()};
+        StringBuilder scratch = new StringBuilder(32);
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next": return --row[0] >= 0;
+                        case "getString": return column(view, row[0], (Integer) args[0], scratch);
+                        case "getStatement": return null;
+                        case "close": return null;
+                        default: throw new SQLFeatureNotSupportedException(method.getName());
+                    }
+                });
+    }
+
+    private static String column(TransactionStore.View view, int i, int column, StringBuilder scratch) {
+        switch (column) {
+            case 1: return DATETIME.format(view.getDateTime(i));
+            case 2: return view.getType(i) == TransactionStore.DEPOSIT ? "DEPOSIT" : "WITHDRAWAL";
+            case 3: scratch.setLength(0);
+                return Money.appendPlain(scratch, view.getAmountMinor(i)).toString();
+            case 4: return view.getCategoryName(view.getCategoryCode(i));
+            case 5: return view.getDescription(i);
+            case 6: scratch.setLength(0);
+                return Money.appendPlain(scratch, view.getBalanceAfterMinor(i)).toString();
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package bench;
+
+import Database.BudgetDAO;
+import Database.DatabaseConnection;
+import Database.TransactionDAO;
+import gui.DashboardPipeline;
+import models.Money;
+import models.Transaction;
+import models.TransactionStore;
+import models.User;
+import utils.InsightsCache;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Simulates many people using the app at once, against users made by DataGenerator. Each session
+// runs on its own virtual thread and loops through the same calls the app makes:
+// - login: LoginFrame's query and last_login update, for a random generated user
+// - dashboard: a DashboardPipeline with all its queries at once, until the first screen's four
+//   results are in
+// - history: from the same start until the full TransactionStore is loaded
+// - add: one to three withdrawals through TransactionDAO, each followed by the budget check
+// - insights: the text report from InsightsCache over the loaded history
+// At the end it prints each operation's count, errors, rate and p50/p90/p99/max latency, then how
+// long borrows waited for a pooled connection.
+//
+// The sessions stand in for separate desktop clients, each with its own pool, so this JVM's pool
+// is sized to CONNECTIONS_PER_SESSION per session unless -Ddb.poolSize is given; MySQL's
+// max_connections must allow that many. The pool wait line shows whether the latencies include
+// time spent queueing in this process rather than in MySQL.
+//
+// Usage: LoadSimulator [sessions] [seconds] [think time ms] [seed]
+public class LoadSimulator {
+
+    private static final String[] OPERATIONS = {"login", "dashboard", "history", "add", "insights"};
+    private static final int LOGIN = 0;
+    private static final int DASHBOARD = 1;
+    private static final int HISTORY = 2;
+    private static final int ADD = 3;
+    private static final int INSIGHTS = 4;
+
+    private static final int WARMUP_SECONDS = 5;
+    // A dashboard pass runs DashboardPipeline's five queries at once
+    private static final int CONNECTIONS_PER_SESSION = 5;
+
+    private final List<String> phoneNumbers;
+    private final long thinkMs;
+    private final long seed;
+    // First failure message per operation, printed once at the end
+    private final Map<String, String> firstErrors = new ConcurrentHashMap<>();
+
+    public LoadSimulator(List<String> phoneNumbers, long thinkMs, long seed) {
+        this.phoneNumbers = phoneNumbers;
+        this.thinkMs = thinkMs;
+        this.seed = seed;
+    }
+
+    // Phone numbers of the users DataGenerator made
+    public static List<String> generatedUsers() throws SQLException {
+        List<String> phones = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            PreparedStatement pstmt = conn.prepareStatement("SELECT phone_number FROM users WHERE username LIKE ? ORDER BY user_id");
+            pstmt.setString(1, DataGenerator.USER_PREFIX.replace("_", "\\_") + "%");
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                phones.add(rs.getString("phone_number"));
+            }
+        }
+        return phones;
+    }
+
+    Recorder[] run(int sessions, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        Recorder[] recorders = new Recorder[sessions];
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int s = 0; s < sessions; s++) {
+            Recorder recorder = new Recorder();
+            recorders[s] = recorder;
+            SplittableRandom random = new SplittableRandom(seed * 31 + s);
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    if (!session(random, recorder)) {
+                        return;
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 120L, TimeUnit.SECONDS);
+        return recorders;
+    }
+
+    // One login to insights pass; false if the thread was interrupted
+    private boolean session(SplittableRandom random, Recorder recorder) {
+        String phone = phoneNumbers.get(random.nextInt(phoneNumbers.size()));
+        int step = LOGIN;
+        try {
+            long start = System.nanoTime();
+            User user = login(phone);
+            if (user == null) {
+                recorder.error(LOGIN);
+                firstErrors.putIfAbsent(OPERATIONS[LOGIN], "No user with phone " + phone);
+                return true;
+            }
+            recorder.add(LOGIN, System.nanoTime() - start);
+            think();
+
+            step = DASHBOARD;
+            start = System.nanoTime();
+            DashboardPipeline pipeline = new DashboardPipeline(user.getUserId()).start();
+            pipeline.quickStats().call();
+            pipeline.recentTransactions().call();
+            pipeline.budgets().call();
+            pipeline.categories().call();
+            recorder.add(DASHBOARD, System.nanoTime() - start);
+            step = HISTORY;
+            TransactionStore store = pipeline.transactionStore().call();
+            recorder.add(HISTORY, System.nanoTime() - start);
+            think();
+
+            step = ADD;
+            String[] categories = SyntheticLedger.expenseCategories();
+            for (int adds = 1 + random.nextInt(3); adds > 0; adds--) {
+                String category = categories[random.nextInt(categories.length)];
+                long amount = Money.ofMajor(50 + random.nextInt(1500));
+                start = System.nanoTime();
+                Transaction transaction = TransactionDAO.addTransaction(user.getUserId(), "WITHDRAWAL", category, amount, "Load simulator");
+                BudgetDAO.getBudget(user.getUserId(), category);
+                recorder.add(ADD, System.nanoTime() - start);
+                store.append(transaction);
+                user.setCurrentBalance(transaction.getBalanceAfter());
+                think();
+            }
+
+            step = INSIGHTS;
+            start = System.nanoTime();
+            InsightsCache.text(user, store.view());
+            recorder.add(INSIGHTS, System.nanoTime() - start);
+            think();
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        } catch (Exception e) {
+            // The pass stops at the failed step and the session starts over with another user
+            recorder.error(step);
+            firstErrors.putIfAbsent(OPERATIONS[step], e.getClass().getSimpleName() + ": " + e.getMessage());
+            return true;
+        }
+    }
+
+    // The same query and update as LoginFrame, logging in by phone number
+    private static User login(String phone) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM users WHERE phone_number = ? AND password = ?");
+            pstmt.setString(1, phone);
+            pstmt.setString(2, DataGenerator.PASSWORD);
+            ResultSet rs = pstmt.executeQuery();
+            if (!rs.next()) {
+                return null;
+            }
+            User user = new User(rs.getInt("user_id"), rs.getString("username"), rs.getString("email"),
+                    rs.getString("phone_number"), Money.read(rs, "current_balance"));
+
+            PreparedStatement updateStmt = conn.prepareStatement("UPDATE users SET last_login = NOW() WHERE user_id = ?");
+            updateStmt.setInt(1, user.getUserId());
+            updateStmt.executeUpdate();
+            return user;
+        }
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkMs > 0) {
+            Thread.sleep(thinkMs);
+        }
+    }
+
+    private void report(Recorder[] recorders, double elapsedSeconds) {
+        System.out.println(String.format(Locale.ROOT, "%-10s %9s %7s %9s %9s %9s %9s %9s",
+                "operation", "count", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        long total = 0;
+        for (int op = 0; op < OPERATIONS.length; op++) {
+            int count = 0;
+            int errors = 0;
+            for (Recorder recorder : recorders) {
+                count += recorder.counts[op];
+                errors += recorder.errors[op];
+            }
+            long[] sorted = new long[count];
+            int at = 0;
+            for (Recorder recorder : recorders) {
+                System.arraycopy(recorder.latencies[op], 0, sorted, at, recorder.counts[op]);
+                at += recorder.counts[op];
+            }
+            Arrays.sort(sorted);
+            total += count;
+
+            System.out.println(String.format(Locale.ROOT, "%-10s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f",
+                    OPERATIONS[op], count, errors, count / elapsedSeconds,
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                    count > 0 ? sorted[count - 1] / 1e6 : 0));
+        }
+        System.out.println(String.format(Locale.ROOT, "Throughput: %.1f ops/s over %.1f s", total / elapsedSeconds, elapsedSeconds));
+        for (Map.Entry<String, String> error : firstErrors.entrySet()) {
+            System.out.println("❌ First " + error.getKey() + " error: " + error.getValue());
+        }
+    }
+
+    // Nearest-rank percentile, in milliseconds
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    // Latencies (nanoseconds) and errors per operation for one session; only its own thread writes it
+    private static class Recorder {
+        private final long[][] latencies = new long[OPERATIONS.length][256];
+        private final int[] counts = new int[OPERATIONS.length];
+        private final int[] errors = new int[OPERATIONS.length];
+
+        void add(int op, long latency) {
+            if (counts[op] == latencies[op].length) {
+                latencies[op] = Arrays.copyOf(latencies[op], counts[op] * 2);
+            }
+            latencies[op][counts[op]++] = latency;
+        }
+
+        void error(int op) {
+            errors[op]++;
+        }
+    }
+
+    public static void main(String[] args) {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        long thinkMs = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+
+        // Before the first connection, which fixes the pool size
+        if (System.getProperty(DatabaseConnection.POOL_SIZE_PROPERTY) == null) {
+            System.setProperty(DatabaseConnection.POOL_SIZE_PROPERTY, String.valueOf(sessions * CONNECTIONS_PER_SESSION));
+        }
+
+        try {
+            List<String> phones = generatedUsers();
+            if (phones.isEmpty()) {
+                System.out.println("❌ No generated users; run DataGenerator first");
+                return;
+            }
+            LoadSimulator simulator = new LoadSimulator(phones, thinkMs, seed);
+
+            System.out.println("Warming up for " + WARMUP_SECONDS + " s...");
+            simulator.run(Math.min(sessions, 8), WARMUP_SECONDS);
+            simulator.firstErrors.clear();
+
+            System.out.println("Running " + sessions + " sessions over " + phones.size() + " users for " + seconds +
+                    " s, pool size " + DatabaseConnection.getPoolStats().getMaxSize());
+            DatabaseConnection.PoolStats poolBefore = DatabaseConnection.getPoolStats();
+            long start = System.nanoTime();
+            Recorder[] recorders = simulator.run(sessions, seconds);
+            simulator.report(recorders, (System.nanoTime() - start) / 1e9);
+
+            DatabaseConnection.PoolStats poolAfter = DatabaseConnection.getPoolStats();
+            long borrows = poolAfter.getBorrowCount() - poolBefore.getBorrowCount();
+            double waitMillis = poolAfter.getTotalWaitMillis() - poolBefore.getTotalWaitMillis();
+            System.out.println(String.format(Locale.ROOT, "Pool wait: %d borrows, %.1f ms total, %.3f ms average",
+                    borrows, waitMillis, borrows == 0 ? 0 : waitMillis / borrows));
+            System.out.println(poolAfter);
+            System.out.println(InsightsCache.getStats());
+        } catch (SQLException | InterruptedException e) {
+            System.out.println("❌ Simulation failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+    }
+}
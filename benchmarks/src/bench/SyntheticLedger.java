@@ -0,0 +1,237 @@
+package bench;
+
+import models.Money;
+import models.Transaction;
+import models.TransactionStore;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Plausible KSH ledgers from a seed: a salary on the 25th of each month with a raise every January,
+// occasional side income, and everyday spending spread over the expense categories with
+// log-normal amounts. December spending runs higher, school fees land in early January, and
+// weekends lean toward eating out and entertainment. Withdrawals that would overdraw the account
+// are skipped, as the app would refuse them. The same seed always gives the same ledger.
+public class SyntheticLedger {
+
+    public static final String SALARY = "Salary";
+    public static final String OTHER_INCOME = "Other Income";
+
+    private static final Spend[] SPENDING = {
+            new Spend("Food & Dining", 34, 450, 0.6, "Java House", "Naivas Supermarket lunch", "Cafe", "Restaurant", "Kibanda"),
+            new Spend("Transportation", 22, 250, 0.7, "Matatu fare", "Uber trip", "Bolt ride", "Fuel - Shell"),
+            new Spend("Shopping", 14, 1800, 0.9, "Naivas Supermarket", "Carrefour", "Jumia order", "Quickmart"),
+            new Spend("Bills & Utilities", 10, 1500, 0.8, "KPLC tokens", "Safaricom airtime", "Nairobi Water", "Zuku internet"),
+            new Spend("Entertainment", 12, 800, 0.8, "Showmax", "Cinema", "Weekend outing"),
+            new Spend("Healthcare", 8, 1500, 1.0, "Pharmacy", "Clinic visit", "Hospital")
+    };
+    private static final String[] SIDE_INCOME = {"M-Pesa from friend", "Freelance payment", "Chama payout"};
+
+    private static final long MIN_SALARY = Money.ofMajor(85_000);
+    private static final int PAYDAY = 25;
+    private static final int SALARY_SECOND = 8 * 3600;
+    private static final int SCHOOL_FEES_DAY = 8;
+    private static final double SIDE_INCOME_CHANCE = 0.08;
+
+    private final SplittableRandom random;
+    private final double spendsPerDay;
+    private final long startingSalary;
+
+    public interface Sink {
+        void accept(LocalDateTime date, boolean deposit, long amount, String category, String description,
+                    long balanceAfter) throws SQLException;
+    }
+
+    public SyntheticLedger(long seed, double spendsPerDay) {
+        this.random = new SplittableRandom(seed);
+        this.spendsPerDay = spendsPerDay;
+
+        // Pay comfortably above the expected spend, so heavy ledgers are not mostly skipped withdrawals
+        double weights = 0;
+        double expected = 0;
+        for (Spend spend : SPENDING) {
+            weights += spend.weight;
+            expected += spend.weight * spend.median * Math.exp(spend.sigma * spend.sigma / 2);
+        }
+        long monthlySpend = Money.ofMajor(expected / weights * spendsPerDay * 30);
+        this.startingSalary = Math.max(MIN_SALARY, Money.times(monthlySpend, 1.25) / Money.UNIT * Money.UNIT);
+    }
+
+    public static String[] expenseCategories() {
+        String[] names = new String[SPENDING.length];
+        for (int i = 0; i < SPENDING.length; i++) {
+            names[i] = SPENDING[i].category;
+        }
+        return names;
+    }
+
+    // What this ledger spends on the category in an average month, rounded to KSH 100
+    public long typicalMonthlySpend(String category) {
+        double weights = 0;
+        for (Spend spend : SPENDING) {
+            weights += spend.weight;
+        }
+        for (Spend spend : SPENDING) {
+            if (spend.category.equals(category)) {
+                double monthly = spendsPerDay * 30 * spend.weight / weights * spend.median * Math.exp(spend.sigma * spend.sigma / 2);
+                return Money.ofMajor(Math.round(monthly / 100) * 100);
+            }
+        }
+        return 0;
+    }
+
+    public long getStartingSalary() {
+        return startingSalary;
+    }
+
+    // Emits every transaction dated from..to inclusive in date order; returns the closing balance
+    public long generate(LocalDate from, LocalDate to, long openingBalance, Sink sink) throws SQLException {
+        long balance = openingBalance;
+        long salary = startingSalary;
+        int[] seconds = new int[64];
+
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            if (day.getDayOfMonth() == 1 && day.getMonth() == Month.JANUARY && !day.equals(from)) {
+                salary = Money.times(salary, 1.05) / Money.UNIT * Money.UNIT;
+            }
+
+            boolean weekend = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+            boolean december = day.getMonth() == Month.DECEMBER;
+            int count = poisson(spendsPerDay * (december ? 1.35 : 1) * (weekend ? 1.15 : 1));
+            if (count > seconds.length) {
+                seconds = new int[Math.max(count, seconds.length * 2)];
+            }
+            // Spending between 06:00 and 22:00, in time order
+            for (int i = 0; i < count; i++) {
+                seconds[i] = 6 * 3600 + random.nextInt(16 * 3600);
+            }
+            Arrays.sort(seconds, 0, count);
+
+            boolean payday = day.getDayOfMonth() == PAYDAY;
+            boolean sideIncome = random.nextDouble() < SIDE_INCOME_CHANCE;
+            boolean schoolFees = day.getMonth() == Month.JANUARY && day.getDayOfMonth() == SCHOOL_FEES_DAY;
+
+            for (int i = 0; i <= count; i++) {
+                int second = i < count ? seconds[i] : 86_399;
+                if (payday && second >= SALARY_SECOND) {
+                    balance += salary;
+                    sink.accept(day.atStartOfDay().plusSeconds(SALARY_SECOND), true, salary, SALARY, "Salary - monthly pay", balance);
+                    payday = false;
+                }
+                if (i == count) {
+                    break;
+                }
+                if (schoolFees && second >= 10 * 3600) {
+                    long fees = Money.ofMajor(25_000 + random.nextInt(20) * 1_000);
+                    if (fees <= balance) {
+                        balance -= fees;
+                        sink.accept(day.atStartOfDay().plusSeconds(second), false, fees, "Bills & Utilities", "School fees", balance);
+                    }
+                    schoolFees = false;
+                    continue;
+                }
+
+                Spend spend = pick(weekend);
+                double factor = december && (spend.category.equals("Shopping") || spend.category.equals("Entertainment")) ? 1.5 : 1;
+                long amount = Money.ofMajor(Math.max(10, Math.round(spend.median * factor * Math.exp(spend.sigma * random.nextGaussian()))));
+                if (amount > balance) {
+                    continue;
+                }
+                balance -= amount;
+                sink.accept(day.atStartOfDay().plusSeconds(second), false, amount, spend.category,
+                        spend.descriptions[random.nextInt(spend.descriptions.length)], balance);
+            }
+
+            if (sideIncome) {
+                long amount = Money.ofMajor(500 + random.nextInt(46) * 100);
+                balance += amount;
+                sink.accept(day.atStartOfDay().plusSeconds(86_399), true, amount, OTHER_INCOME,
+                        SIDE_INCOME[random.nextInt(SIDE_INCOME.length)], balance);
+            }
+        }
+        return balance;
+    }
+
+    // About `rows` transactions ending today: eight a day, over at least two months and at most
+    // three years, with busier days once three years is not enough
+    public static TransactionStore store(int userId, int rows, long seed) {
+        int days = Math.max(60, Math.min(3 * 365, rows / 8));
+        LocalDate today = LocalDate.now();
+        SyntheticLedger ledger = new SyntheticLedger(seed, Math.max(1, (double) rows / days));
+        TransactionStore store = new TransactionStore(userId);
+        int[] nextId = {1};
+        try {
+            ledger.generate(today.minusDays(days - 1), today, ledger.getStartingSalary(),
+                    (date, deposit, amount, category, description, balanceAfter) ->
+                            store.append(new Transaction(nextId[0]++, deposit ? "DEPOSIT" : "WITHDRAWAL", amount,
+                                    category, description, Timestamp.valueOf(date), balanceAfter)));
+        } catch (SQLException e) {
+            // The in-memory sink never throws
+            throw new IllegalStateException(e);
+        }
+        return store;
+    }
+
+    // 1000 -> "1k", 1000000 -> "1M"
+    public static String label(int rows) {
+        if (rows >= 1_000_000 && rows % 1_000_000 == 0) return rows / 1_000_000 + "M";
+        if (rows >= 1_000 && rows % 1_000 == 0) return rows / 1_000 + "k";
+        return String.valueOf(rows);
+    }
+
+    private Spend pick(boolean weekend) {
+        double total = 0;
+        for (Spend spend : SPENDING) {
+            total += spend.weight(weekend);
+        }
+        double r = random.nextDouble() * total;
+        for (Spend spend : SPENDING) {
+            r -= spend.weight(weekend);
+            if (r < 0) {
+                return spend;
+            }
+        }
+        return SPENDING[SPENDING.length - 1];
+    }
+
+    // Knuth's method for small means, a rounded normal for large ones
+    private int poisson(double mean) {
+        if (mean > 30) {
+            return (int) Math.max(0, Math.round(mean + Math.sqrt(mean) * random.nextGaussian()));
+        }
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private static class Spend {
+        private final String category;
+        private final double weight;
+        private final double median;
+        private final double sigma;
+        private final String[] descriptions;
+
+        Spend(String category, double weight, double median, double sigma, String... descriptions) {
+            this.category = category;
+            this.weight = weight;
+            this.median = median;
+            this.sigma = sigma;
+            this.descriptions = descriptions;
+        }
+
+        double weight(boolean weekend) {
+            boolean leisure = category.equals("Food & Dining") || category.equals("Entertainment");
+            return weekend && leisure ? weight * 1.5 : weight;
+        }
+    }
+}
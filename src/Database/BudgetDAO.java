@@ -0,0 +1,89 @@
+package Database;
+
+import models.Budget;
+import models.Money;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+// Budget reads and writes shared by the Swing app and the HTTP service. Limits and spending are
+// in minor units (see Money).
+public class BudgetDAO {
+
+    // This month's spending comes from the monthly rollup, which addTransaction keeps current in
+    // the same commit as each row, so reads never write and concurrent withdrawals cannot lose
+    // updates. budgets.spent_so_far is no longer maintained.
+    private static final String BUDGET_QUERY = "SELECT b.*, c.category_name, " +
+            "COALESCE((SELECT r.total FROM " + RollupTables.MONTHLY_TABLE + " r " +
+            "WHERE r.user_id = b.user_id AND r.category_id = b.category_id " +
+            "AND r.type = 'WITHDRAWAL' " +
+            "AND r.month_start = DATE_FORMAT(CURDATE(), '%Y-%m-01')), 0) as spent " +
+            "FROM budgets b " +
+            "JOIN categories c ON b.category_id = c.category_id " +
+            "WHERE b.user_id = ?";
+
+    public static List<Budget> getBudgets(int userId) throws SQLException {
+        List<Budget> budgets = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            PreparedStatement pstmt = conn.prepareStatement(BUDGET_QUERY);
+            pstmt.setInt(1, userId);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                budgets.add(readBudget(rs));
+            }
+        }
+        return budgets;
+    }
+
+    // The user's budget for one category with this month's spending, or null if there is none;
+    // read after a withdrawal commits to see whether it crossed the limit
+    public static Budget getBudget(int userId, String category) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            PreparedStatement pstmt = conn.prepareStatement(BUDGET_QUERY + " AND c.category_name = ?");
+            pstmt.setInt(1, userId);
+            pstmt.setString(2, category);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? readBudget(rs) : null;
+        }
+    }
+
+    private static Budget readBudget(ResultSet rs) throws SQLException {
+        return new Budget(rs.getInt("budget_id"), rs.getInt("user_id"), rs.getInt("category_id"),
+                rs.getString("category_name"), Money.read(rs, "monthly_limit"), Money.read(rs, "spent"));
+    }
+
+    // Creates or replaces the user's limit for a category; false if there is no such category
+    public static boolean saveBudget(int userId, String category, long limit) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            CategoryRegistry.Category match = CategoryRegistry.get().byName(category);
+            if (match == null) {
+                return false;
+            }
+            int categoryId = match.getId();
+
+            String checkQuery = "SELECT budget_id FROM budgets WHERE user_id = ? AND category_id = ?";
+            PreparedStatement checkStmt = conn.prepareStatement(checkQuery);
+            checkStmt.setInt(1, userId);
+            checkStmt.setInt(2, categoryId);
+            ResultSet checkRs = checkStmt.executeQuery();
+
+            if (checkRs.next()) {
+                String updateQuery = "UPDATE budgets SET monthly_limit = ? WHERE user_id = ? AND category_id = ?";
+                PreparedStatement updateStmt = conn.prepareStatement(updateQuery);
+                Money.bind(updateStmt, 1, limit);
+                updateStmt.setInt(2, userId);
+                updateStmt.setInt(3, categoryId);
+                updateStmt.executeUpdate();
+            } else {
+                String insertQuery = "INSERT INTO budgets (user_id, category_id, monthly_limit) VALUES (?, ?, ?)";
+                PreparedStatement insertStmt = conn.prepareStatement(insertQuery);
+                insertStmt.setInt(1, userId);
+                insertStmt.setInt(2, categoryId);
+                Money.bind(insertStmt, 3, limit);
+                insertStmt.executeUpdate();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package Database;
+
+import java.sql.*;
+import java.util.*;
+
+// The categories table, held in memory as an immutable snapshot with name -> id and id -> name
+// maps. Categories change rarely, so lookups never touch the database: at most once per
+// CHECK_INTERVAL_MS a one-row fingerprint query checks whether the table changed, and a name
+// that is not found forces one check straight away. Shared by the GUI, insights and importers.
+// Call from background threads only; the first call and any reload run queries.
+public class CategoryRegistry {
+
+    private static final long CHECK_INTERVAL_MS = 60_000;
+
+    private static final String FINGERPRINT_QUERY =
+            "SELECT COUNT(*), COALESCE(MAX(category_id), 0), " +
+            "COALESCE(SUM(CRC32(CONCAT(category_name, '|', category_type))), 0) FROM categories";
+
+    private static final String UNKNOWN_NAME = "Uncategorized";
+
+    private static final Object lock = new Object();
+    private static volatile Snapshot current;
+    private static volatile long lastCheck;
+
+    public static class Category {
+        private final int id;
+        private final String name;
+        private final String type;
+
+        Category(int id, String name, String type) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+        }
+
+        public int getId() { return id; }
+        public String getName() { return name; }
+        public String getType() { return type; }
+    }
+
+    public static class Snapshot {
+        private final String fingerprint;
+        private final List<Category> all;
+        private final Map<Integer, Category> byId = new HashMap<>();
+        // Keys are lower case, matching the table's case-insensitive collation
+        private final Map<String, Category> byName = new HashMap<>();
+
+        Snapshot(String fingerprint, List<Category> all) {
+            this.fingerprint = fingerprint;
+            this.all = Collections.unmodifiableList(all);
+            for (Category category : all) {
+                byId.put(category.id, category);
+                byName.putIfAbsent(category.name.toLowerCase(), category);
+            }
+        }
+
+        public Category byName(String name) {
+            return name != null ? byName.get(name.toLowerCase()) : null;
+        }
+
+        public Category byId(int id) {
+            return byId.get(id);
+        }
+
+        public String nameOf(int id) {
+            Category category = byId.get(id);
+            return category != null ? category.name : UNKNOWN_NAME;
+        }
+
+        // Names of the categories of the given types ("INCOME", "EXPENSE"), in id order
+        public List<String> names(String... types) {
+            List<String> names = new ArrayList<>();
+            for (Category category : all) {
+                for (String type : types) {
+                    if (type.equals(category.type)) {
+                        names.add(category.name);
+                        break;
+                    }
+                }
+            }
+            return names;
+        }
+
+        // Lowest-id category of a type, used as the fallback for unmatched imported rows
+        public Category firstOfType(String type) {
+            for (Category category : all) {
+                if (type.equals(category.type)) {
+                    return category;
+                }
+            }
+            return null;
+        }
+
+        public List<Category> getAll() {
+            return all;
+        }
+    }
+
+    // The current snapshot, loading it on first use and re-checking the fingerprint when due
+    public static Snapshot get() throws SQLException {
+        Snapshot snapshot = current;
+        if (snapshot == null || System.currentTimeMillis() - lastCheck >= CHECK_INTERVAL_MS) {
+            snapshot = refresh(false);
+        }
+        return snapshot;
+    }
+
+    public static int idOf(String name) throws SQLException {
+        Category category = get().byName(name);
+        if (category == null) {
+            // Maybe added since the last check
+            category = refresh(false).byName(name);
+        }
+        if (category == null) {
+            throw new SQLException("Unknown category: " + name);
+        }
+        return category.id;
+    }
+
+    public static String nameOf(int id) throws SQLException {
+        Category category = get().byId(id);
+        if (category == null) {
+            category = refresh(false).byId(id);
+        }
+        return category != null ? category.name : UNKNOWN_NAME;
+    }
+
+    // Reloads if the table's fingerprint changed, or always when forced
+    public static Snapshot refresh(boolean force) throws SQLException {
+        synchronized (lock) {
+            // Another thread may have just done the check this caller was waiting for
+            Snapshot latest = current;
+            if (!force && latest != null && System.currentTimeMillis() - lastCheck < 1000) {
+                return latest;
+            }
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                String fingerprint = fingerprint(conn);
+                Snapshot snapshot = current;
+                if (force || snapshot == null || !snapshot.fingerprint.equals(fingerprint)) {
+                    snapshot = load(conn, fingerprint);
+                    current = snapshot;
+                }
+                lastCheck = System.currentTimeMillis();
+                return snapshot;
+            }
+        }
+    }
+
+    private static String fingerprint(Connection conn) throws SQLException {
+        ResultSet rs = conn.createStatement().executeQuery(FINGERPRINT_QUERY);
+        rs.next();
+        return rs.getLong(1) + ":" + rs.getLong(2) + ":" + rs.getLong(3);
+    }
+
+    private static Snapshot load(Connection conn, String fingerprint) throws SQLException {
+        List<Category> all = new ArrayList<>();
+        ResultSet rs = conn.createStatement().executeQuery(
+                "SELECT category_id, category_name, category_type FROM categories ORDER BY category_id");
+        while (rs.next()) {
+            all.add(new Category(rs.getInt("category_id"), rs.getString("category_name"), rs.getString("category_type")));
+        }
+        return new Snapshot(fingerprint, all);
+    }
+}
@@ -1,35 +1,412 @@
 package Database;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class DatabaseConnection {
-    private static final String URL = "jdbc:mysql://localhost:3306/finance_tracker?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true";
+    private static final String URL = "jdbc:mysql://localhost:3306/finance_tracker?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true";
     private static final String USERNAME = "root";
     private static final String PASSWORD = "";
 
-    private static Connection connection = null;
+    // Pool settings. The size can be set with -Ddb.poolSize=N; it is read once, when the pool
+    // class loads, so a tool that sets the property itself must do so before the first connection.
+    public static final String POOL_SIZE_PROPERTY = "db.poolSize";
+    private static final int MAX_POOL_SIZE = Math.max(1, Integer.getInteger(POOL_SIZE_PROPERTY, 10));
+    private static final long BORROW_TIMEOUT_MS = 10_000;
+    private static final long IDLE_TIMEOUT_MS = 5 * 60_000;
+    private static final long EVICTION_INTERVAL_MS = 60_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    // A lease drops the statements already closed from its list once this many are tracked
+    private static final int STATEMENT_PRUNE_THRESHOLD = 64;
 
+    private static final Object lock = new Object();
+    private static final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+    private static int totalConnections = 0;
+    private static int activeConnections = 0;
+    private static int waitingThreads = 0;
+    private static long borrowCount = 0;
+    private static long totalWaitNanos = 0;
+    private static long maxWaitNanos = 0;
+    private static long connectionsCreated = 0;
+    private static long connectionsEvicted = 0;
+    private static boolean shutdown = false;
+    private static ScheduledExecutorService evictor;
+
+    // Callers keep using try-with-resources; close() on the returned connection hands it back to the pool.
     public static Connection getConnection() throws SQLException {
         try {
             Class.forName("com.mysql.cj.jdbc.Driver");
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
-            }
-            return connection;
         } catch (ClassNotFoundException e) {
             throw new SQLException("MySQL Driver not found", e);
         }
+
+        long start = System.nanoTime();
+        PooledConnection pooled = borrow(start);
+        long waited = System.nanoTime() - start;
+
+        synchronized (lock) {
+            borrowCount++;
+            totalWaitNanos += waited;
+            maxWaitNanos = Math.max(maxWaitNanos, waited);
+        }
+
+        return pooled.lease();
+    }
+
+    private static PooledConnection borrow(long start) throws SQLException {
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(BORROW_TIMEOUT_MS);
+
+        while (true) {
+            PooledConnection candidate = null;
+            boolean create = false;
+
+            synchronized (lock) {
+                // Borrowing after closeConnection() reopens the pool
+                shutdown = false;
+                startEvictor();
+
+                while (idle.isEmpty() && totalConnections >= MAX_POOL_SIZE) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new SQLException("Timed out waiting for a database connection (pool size " + MAX_POOL_SIZE + ")");
+                    }
+                    waitingThreads++;
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waitingThreads--;
+                    }
+                }
+
+                if (!idle.isEmpty()) {
+                    candidate = idle.pollFirst();
+                } else {
+                    create = true;
+                    totalConnections++;
+                }
+                activeConnections++;
+            }
+
+            if (create) {
+                Connection physical = null;
+                try {
+                    physical = DriverManager.getConnection(URL, USERNAME, PASSWORD);
+                    PooledConnection pooled = new PooledConnection(physical);
+                    synchronized (lock) {
+                        connectionsCreated++;
+                    }
+                    return pooled;
+                } catch (SQLException e) {
+                    if (physical != null) {
+                        closeQuietly(physical);
+                    }
+                    release(null, true);
+                    throw e;
+                }
+            }
+
+            // Validate on borrow; a dead connection is dropped and we try again
+            if (isUsable(candidate.physical)) {
+                return candidate;
+            }
+            release(candidate, true);
+        }
+    }
+
+    private static boolean isUsable(Connection connection) {
+        try {
+            return !connection.isClosed() && connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void release(PooledConnection pooled, boolean discard) {
+        synchronized (lock) {
+            activeConnections--;
+            if (discard || shutdown) {
+                totalConnections--;
+            } else {
+                pooled.lastUsed = System.currentTimeMillis();
+                idle.addFirst(pooled);
+            }
+            lock.notifyAll();
+        }
+        if ((discard || shutdown) && pooled != null) {
+            closeQuietly(pooled.physical);
+        }
+    }
+
+    private static void startEvictor() {
+        if (evictor != null) {
+            return;
+        }
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        evictor.scheduleWithFixedDelay(DatabaseConnection::evictIdle,
+                EVICTION_INTERVAL_MS, EVICTION_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private static void evictIdle() {
+        List<PooledConnection> expired = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        synchronized (lock) {
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext()) {
+                PooledConnection pooled = it.next();
+                if (now - pooled.lastUsed >= IDLE_TIMEOUT_MS) {
+                    it.remove();
+                    totalConnections--;
+                    connectionsEvicted++;
+                    expired.add(pooled);
+                }
+            }
+            if (!expired.isEmpty()) {
+                lock.notifyAll();
+            }
+        }
+
+        for (PooledConnection pooled : expired) {
+            closeQuietly(pooled.physical);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public static PoolStats getPoolStats() {
+        synchronized (lock) {
+            return new PoolStats(MAX_POOL_SIZE, activeConnections, idle.size(), waitingThreads,
+                    borrowCount, totalWaitNanos, maxWaitNanos, connectionsCreated, connectionsEvicted);
+        }
     }
 
     public static void closeConnection() {
-        if (connection != null) {
+        List<PooledConnection> toClose;
+        synchronized (lock) {
+            shutdown = true;
+            toClose = new ArrayList<>(idle);
+            totalConnections -= idle.size();
+            idle.clear();
+            if (evictor != null) {
+                evictor.shutdownNow();
+                evictor = null;
+            }
+            lock.notifyAll();
+        }
+        for (PooledConnection pooled : toClose) {
+            closeQuietly(pooled.physical);
+        }
+        System.out.println("Database connection pool closed");
+    }
+
+    public static class PoolStats {
+        private final int maxSize;
+        private final int active;
+        private final int idle;
+        private final int waiting;
+        private final long borrowCount;
+        private final long totalWaitNanos;
+        private final long maxWaitNanos;
+        private final long created;
+        private final long evicted;
+
+        PoolStats(int maxSize, int active, int idle, int waiting, long borrowCount,
+                  long totalWaitNanos, long maxWaitNanos, long created, long evicted) {
+            this.maxSize = maxSize;
+            this.active = active;
+            this.idle = idle;
+            this.waiting = waiting;
+            this.borrowCount = borrowCount;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.created = created;
+            this.evicted = evicted;
+        }
+
+        public int getMaxSize() { return maxSize; }
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public int getWaiting() { return waiting; }
+        public long getBorrowCount() { return borrowCount; }
+        public long getCreated() { return created; }
+        public long getEvicted() { return evicted; }
+        public double getTotalWaitMillis() { return totalWaitNanos / 1_000_000.0; }
+        public double getMaxWaitMillis() { return maxWaitNanos / 1_000_000.0; }
+
+        public double getAverageWaitMillis() {
+            if (borrowCount == 0) return 0;
+            return getTotalWaitMillis() / borrowCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Pool[active=%d, idle=%d, max=%d, waiting=%d, borrows=%d, avgWait=%.3fms, maxWait=%.3fms, created=%d, evicted=%d]",
+                    active, idle, maxSize, waiting, borrowCount, getAverageWaitMillis(), getMaxWaitMillis(), created, evicted);
+        }
+    }
+
+    // One physical connection plus the bookkeeping the pool needs for it. The session settings it
+    // was opened with are kept so a lease that changed them can be undone before the next one.
+    private static class PooledConnection {
+        private final Connection physical;
+        private final boolean defaultReadOnly;
+        private final int defaultIsolation;
+        private final String defaultCatalog;
+        private long lastUsed;
+
+        PooledConnection(Connection physical) throws SQLException {
+            this.physical = physical;
+            this.defaultReadOnly = physical.isReadOnly();
+            this.defaultIsolation = physical.getTransactionIsolation();
+            this.defaultCatalog = physical.getCatalog();
+            this.lastUsed = System.currentTimeMillis();
+        }
+
+        void restoreSession() throws SQLException {
+            if (physical.isReadOnly() != defaultReadOnly) {
+                physical.setReadOnly(defaultReadOnly);
+            }
+            if (physical.getTransactionIsolation() != defaultIsolation) {
+                physical.setTransactionIsolation(defaultIsolation);
+            }
+            if (defaultCatalog != null && !defaultCatalog.equals(physical.getCatalog())) {
+                physical.setCatalog(defaultCatalog);
+            }
+        }
+
+        Connection lease() {
+            LeaseHandler handler = new LeaseHandler(this);
+            return (Connection) Proxy.newProxyInstance(
+                    DatabaseConnection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    handler);
+        }
+    }
+
+    // Logical connection handed to callers. Statements opened through it are closed
+    // when it is returned, any uncommitted work is rolled back, and session settings the
+    // caller changed (read-only, isolation level, catalog) are put back.
+    private static class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        // Statements still open, plus any closed since the last prune
+        private final List<Statement> statements = new ArrayList<>();
+        private int pruneAt = STATEMENT_PRUNE_THRESHOLD;
+        private boolean sessionChanged = false;
+        private boolean closed = false;
+
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.equals("close")) {
+                returnToPool();
+                return null;
+            }
+            if (name.equals("isClosed")) {
+                return closed;
+            }
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (name.equals("toString")) {
+                return "PooledConnection@" + Integer.toHexString(System.identityHashCode(proxy));
+            }
+            if (closed) {
+                throw new SQLException("Connection has been returned to the pool");
+            }
+
+            if (name.equals("setReadOnly") || name.equals("setTransactionIsolation")
+                    || name.equals("setCatalog") || name.equals("setSchema")) {
+                sessionChanged = true;
+            }
+
             try {
-                connection.close();
-                connection = null;
-                System.out.println("Database connection closed");
+                Object result = method.invoke(pooled.physical, args);
+                if (result instanceof Statement) {
+                    track((Statement) result);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        // Long leases open a statement per row; closed ones are dropped so they can be collected
+        private void track(Statement statement) {
+            if (statements.size() >= pruneAt) {
+                statements.removeIf(LeaseHandler::isClosed);
+                pruneAt = Math.max(STATEMENT_PRUNE_THRESHOLD, statements.size() * 2);
+            }
+            statements.add(statement);
+        }
+
+        private static boolean isClosed(Statement statement) {
+            try {
+                return statement.isClosed();
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private void returnToPool() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            boolean broken = false;
+            for (Statement statement : statements) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    broken = true;
+                }
+            }
+            statements.clear();
+
+            try {
+                if (!pooled.physical.getAutoCommit()) {
+                    pooled.physical.rollback();
+                    pooled.physical.setAutoCommit(true);
+                }
+                if (sessionChanged) {
+                    pooled.restoreSession();
+                }
             } catch (SQLException e) {
-                e.printStackTrace();
+                broken = true;
             }
+
+            release(pooled, broken);
         }
     }
-}
\ No newline at end of file
+}
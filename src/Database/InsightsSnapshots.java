@@ -0,0 +1,59 @@
+package Database;
+
+import models.Money;
+import java.sql.*;
+import java.time.LocalDate;
+
+// Insights computed ahead of time by the nightly batch (utils.InsightsBatchJob), one row per user
+// per run date. ledger_version is the user's highest transaction id when the figures were read,
+// so a reader can tell whether anything has been added since.
+public class InsightsSnapshots {
+
+    public static final String TABLE = "insights_snapshots";
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS " + TABLE + " (" +
+            "user_id INT NOT NULL, " +
+            "run_date DATE NOT NULL, " +
+            "ledger_version BIGINT NOT NULL, " +
+            "balance DECIMAL(15,2) NOT NULL, " +
+            "month_income DECIMAL(15,2) NOT NULL, " +
+            "month_expenses DECIMAL(15,2) NOT NULL, " +
+            "text_report MEDIUMTEXT NOT NULL, " +
+            "html_report MEDIUMTEXT NOT NULL, " +
+            "created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+            "PRIMARY KEY (user_id, run_date), " +
+            "KEY idx_snapshots_run_date (run_date))";
+
+    // Run through SchemaMigrations rather than directly
+    static void createTable(Connection conn) throws SQLException {
+        conn.createStatement().executeUpdate(CREATE_TABLE);
+    }
+
+    // Replaces any snapshot the user already has for the run date
+    public static void save(Connection conn, int userId, LocalDate runDate, long ledgerVersion, long balance,
+                            long monthIncome, long monthExpenses, String textReport, String htmlReport) throws SQLException {
+        String query = "INSERT INTO " + TABLE + " (user_id, run_date, ledger_version, balance, month_income, " +
+                "month_expenses, text_report, html_report) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE ledger_version = VALUES(ledger_version), balance = VALUES(balance), " +
+                "month_income = VALUES(month_income), month_expenses = VALUES(month_expenses), " +
+                "text_report = VALUES(text_report), html_report = VALUES(html_report), created_at = CURRENT_TIMESTAMP";
+        PreparedStatement pstmt = conn.prepareStatement(query);
+        pstmt.setInt(1, userId);
+        pstmt.setDate(2, Date.valueOf(runDate));
+        pstmt.setLong(3, ledgerVersion);
+        Money.bind(pstmt, 4, balance);
+        Money.bind(pstmt, 5, monthIncome);
+        Money.bind(pstmt, 6, monthExpenses);
+        pstmt.setString(7, textReport);
+        pstmt.setString(8, htmlReport);
+        pstmt.executeUpdate();
+    }
+
+    public static int countForDate(Connection conn, LocalDate runDate) throws SQLException {
+        PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM " + TABLE + " WHERE run_date = ?");
+        pstmt.setDate(1, Date.valueOf(runDate));
+        ResultSet rs = pstmt.executeQuery();
+        return rs.next() ? rs.getInt(1) : 0;
+    }
+}
@@ -0,0 +1,19 @@
+package Database;
+
+import models.Money;
+import java.sql.SQLException;
+
+// Thrown when a withdrawal would take the stored balance below zero
+public class InsufficientBalanceException extends SQLException {
+    private final long amount;
+
+    public InsufficientBalanceException(int userId, long amount) {
+        super("Insufficient balance for user " + userId + " to withdraw " + Money.toPlainString(amount));
+        this.amount = amount;
+    }
+
+    // Minor units
+    public long getAmount() {
+        return amount;
+    }
+}
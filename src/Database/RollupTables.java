@@ -0,0 +1,249 @@
+package Database;
+
+import models.Money;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Pre-aggregated totals kept in step with the transactions table.
+// monthly_category_totals is keyed by (user, category, type, month), daily_totals by (user, day).
+public class RollupTables {
+
+    public static final String MONTHLY_TABLE = "monthly_category_totals";
+    public static final String DAILY_TABLE = "daily_totals";
+
+    private static final String CREATE_MONTHLY =
+            "CREATE TABLE IF NOT EXISTS " + MONTHLY_TABLE + " (" +
+            "user_id INT NOT NULL, " +
+            "category_id INT NOT NULL, " +
+            "type VARCHAR(20) NOT NULL, " +
+            "month_start DATE NOT NULL, " +
+            "total DECIMAL(15,2) NOT NULL DEFAULT 0, " +
+            "txn_count INT NOT NULL DEFAULT 0, " +
+            "PRIMARY KEY (user_id, category_id, type, month_start), " +
+            "KEY idx_monthly_user_month (user_id, month_start))";
+
+    private static final String CREATE_DAILY =
+            "CREATE TABLE IF NOT EXISTS " + DAILY_TABLE + " (" +
+            "user_id INT NOT NULL, " +
+            "day DATE NOT NULL, " +
+            "income DECIMAL(15,2) NOT NULL DEFAULT 0, " +
+            "expenses DECIMAL(15,2) NOT NULL DEFAULT 0, " +
+            "txn_count INT NOT NULL DEFAULT 0, " +
+            "PRIMARY KEY (user_id, day))";
+
+    // Creates the tables if needed; returns true if either was missing and needs a backfill.
+    // Run through SchemaMigrations rather than directly.
+    static boolean createTables(Connection conn) throws SQLException {
+        boolean exists = tableExists(conn, MONTHLY_TABLE) && tableExists(conn, DAILY_TABLE);
+        Statement stmt = conn.createStatement();
+        stmt.executeUpdate(CREATE_MONTHLY);
+        stmt.executeUpdate(CREATE_DAILY);
+        return !exists;
+    }
+
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        ResultSet rs = conn.getMetaData().getTables(conn.getCatalog(), null, table, new String[]{"TABLE"});
+        return rs.next();
+    }
+
+    // Must run on the connection (and inside the DB transaction) that inserted the row.
+    // Uses NOW()/CURDATE() so the buckets match the transaction_date written with NOW().
+    public static void applyTransaction(Connection conn, int userId, int categoryId, String type, long amount) throws SQLException {
+        String monthlyQuery = "INSERT INTO " + MONTHLY_TABLE + " (user_id, category_id, type, month_start, total, txn_count) " +
+                "VALUES (?, ?, ?, DATE_FORMAT(CURDATE(), '%Y-%m-01'), ?, 1) " +
+                "ON DUPLICATE KEY UPDATE total = total + VALUES(total), txn_count = txn_count + 1";
+        PreparedStatement monthlyStmt = conn.prepareStatement(monthlyQuery);
+        monthlyStmt.setInt(1, userId);
+        monthlyStmt.setInt(2, categoryId);
+        monthlyStmt.setString(3, type);
+        Money.bind(monthlyStmt, 4, amount);
+        monthlyStmt.executeUpdate();
+
+        long income = type.equals("DEPOSIT") ? amount : 0;
+        long expenses = type.equals("WITHDRAWAL") ? amount : 0;
+        String dailyQuery = "INSERT INTO " + DAILY_TABLE + " (user_id, day, income, expenses, txn_count) " +
+                "VALUES (?, CURDATE(), ?, ?, 1) " +
+                "ON DUPLICATE KEY UPDATE income = income + VALUES(income), " +
+                "expenses = expenses + VALUES(expenses), txn_count = txn_count + 1";
+        PreparedStatement dailyStmt = conn.prepareStatement(dailyQuery);
+        dailyStmt.setInt(1, userId);
+        Money.bind(dailyStmt, 2, income);
+        Money.bind(dailyStmt, 3, expenses);
+        dailyStmt.executeUpdate();
+    }
+
+    // Adds totals collected by a bulk writer for arbitrary dates, as two batched upserts.
+    // Must run inside the DB transaction that inserted the rows.
+    public static void applyDelta(Connection conn, int userId, Delta delta) throws SQLException {
+        String monthlyQuery = "INSERT INTO " + MONTHLY_TABLE + " (user_id, category_id, type, month_start, total, txn_count) " +
+                "VALUES (?, ?, ?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE total = total + VALUES(total), txn_count = txn_count + VALUES(txn_count)";
+        PreparedStatement monthlyStmt = conn.prepareStatement(monthlyQuery);
+        for (Map.Entry<MonthKey, long[]> entry : delta.monthly.entrySet()) {
+            MonthKey key = entry.getKey();
+            monthlyStmt.setInt(1, userId);
+            monthlyStmt.setInt(2, key.categoryId);
+            monthlyStmt.setString(3, key.type);
+            monthlyStmt.setDate(4, Date.valueOf(key.monthStart));
+            Money.bind(monthlyStmt, 5, entry.getValue()[0]);
+            monthlyStmt.setInt(6, (int) entry.getValue()[1]);
+            monthlyStmt.addBatch();
+        }
+        monthlyStmt.executeBatch();
+
+        String dailyQuery = "INSERT INTO " + DAILY_TABLE + " (user_id, day, income, expenses, txn_count) " +
+                "VALUES (?, ?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE income = income + VALUES(income), " +
+                "expenses = expenses + VALUES(expenses), txn_count = txn_count + VALUES(txn_count)";
+        PreparedStatement dailyStmt = conn.prepareStatement(dailyQuery);
+        for (Map.Entry<LocalDate, long[]> entry : delta.daily.entrySet()) {
+            dailyStmt.setInt(1, userId);
+            dailyStmt.setDate(2, Date.valueOf(entry.getKey()));
+            Money.bind(dailyStmt, 3, entry.getValue()[0]);
+            Money.bind(dailyStmt, 4, entry.getValue()[1]);
+            dailyStmt.setInt(5, (int) entry.getValue()[2]);
+            dailyStmt.addBatch();
+        }
+        dailyStmt.executeBatch();
+    }
+
+    // Recomputes one user's rollups from the raw transactions in a single DB transaction
+    public static void rebuildUser(Connection conn, int userId) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            for (String table : new String[]{MONTHLY_TABLE, DAILY_TABLE}) {
+                PreparedStatement deleteStmt = conn.prepareStatement("DELETE FROM " + table + " WHERE user_id = ?");
+                deleteStmt.setInt(1, userId);
+                deleteStmt.executeUpdate();
+            }
+
+            String monthlyQuery = "INSERT INTO " + MONTHLY_TABLE + " (user_id, category_id, type, month_start, total, txn_count) " +
+                    "SELECT user_id, category_id, type, DATE_FORMAT(transaction_date, '%Y-%m-01'), SUM(amount), COUNT(*) " +
+                    "FROM transactions WHERE user_id = ? " +
+                    "GROUP BY user_id, category_id, type, DATE_FORMAT(transaction_date, '%Y-%m-01')";
+            PreparedStatement monthlyStmt = conn.prepareStatement(monthlyQuery);
+            monthlyStmt.setInt(1, userId);
+            monthlyStmt.executeUpdate();
+
+            String dailyQuery = "INSERT INTO " + DAILY_TABLE + " (user_id, day, income, expenses, txn_count) " +
+                    "SELECT user_id, DATE(transaction_date), " +
+                    "SUM(CASE WHEN type = 'DEPOSIT' THEN amount ELSE 0 END), " +
+                    "SUM(CASE WHEN type = 'WITHDRAWAL' THEN amount ELSE 0 END), COUNT(*) " +
+                    "FROM transactions WHERE user_id = ? " +
+                    "GROUP BY user_id, DATE(transaction_date)";
+            PreparedStatement dailyStmt = conn.prepareStatement(dailyQuery);
+            dailyStmt.setInt(1, userId);
+            dailyStmt.executeUpdate();
+
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    // Backfill job: rebuilds every user one at a time so no single transaction grows too large
+    public static int rebuildAll() throws SQLException {
+        List<Integer> userIds = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            ResultSet rs = conn.createStatement().executeQuery("SELECT user_id FROM users ORDER BY user_id");
+            while (rs.next()) {
+                userIds.add(rs.getInt("user_id"));
+            }
+        }
+
+        for (int userId : userIds) {
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                rebuildUser(conn, userId);
+            }
+        }
+        return userIds.size();
+    }
+
+    // Rollup changes for a batch of transactions, summed in memory so each bucket is written once
+    public static class Delta {
+        // Amounts in minor units; the last slot of each array is the row count
+        private final Map<MonthKey, long[]> monthly = new HashMap<>();
+        private final Map<LocalDate, long[]> daily = new HashMap<>();
+
+        public void add(int categoryId, String type, LocalDate day, long amount) {
+            long[] month = monthly.computeIfAbsent(new MonthKey(categoryId, type, day.withDayOfMonth(1)), k -> new long[2]);
+            month[0] += amount;
+            month[1]++;
+
+            long[] totals = daily.computeIfAbsent(day, d -> new long[3]);
+            if (type.equals("DEPOSIT")) {
+                totals[0] += amount;
+            } else if (type.equals("WITHDRAWAL")) {
+                totals[1] += amount;
+            }
+            totals[2]++;
+        }
+
+        public boolean isEmpty() {
+            return daily.isEmpty();
+        }
+    }
+
+    private static class MonthKey {
+        private final int categoryId;
+        private final String type;
+        private final LocalDate monthStart;
+
+        MonthKey(int categoryId, String type, LocalDate monthStart) {
+            this.categoryId = categoryId;
+            this.type = type;
+            this.monthStart = monthStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof MonthKey)) return false;
+            MonthKey other = (MonthKey) o;
+            return categoryId == other.categoryId && type.equals(other.type) && monthStart.equals(other.monthStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(categoryId, type, monthStart);
+        }
+    }
+
+    // Usage: RollupTables [userId]  (no argument rebuilds every user)
+    public static void main(String[] args) {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            createTables(conn);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            if (args.length > 0) {
+                int userId = Integer.parseInt(args[0]);
+                try (Connection conn = DatabaseConnection.getConnection()) {
+                    rebuildUser(conn, userId);
+                }
+                System.out.println("✅ Rebuilt rollups for user " + userId);
+            } else {
+                int users = rebuildAll();
+                System.out.println("✅ Rebuilt rollups for " + users + " users");
+            }
+            System.out.println("Took " + (System.currentTimeMillis() - start) + " ms");
+        } catch (SQLException e) {
+            System.out.println("❌ Rebuild failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package Database;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Versioned schema changes. Each migration runs once per database and is recorded in
+// schema_version; add new ones to the end of the list with the next version number.
+public class SchemaMigrations {
+
+    public static final String VERSION_TABLE = "schema_version";
+
+    private static final List<Migration> MIGRATIONS = new ArrayList<>();
+
+    static {
+        MIGRATIONS.add(new Migration(1, "Rollup tables for dashboards", conn -> {
+            if (RollupTables.createTables(conn)) {
+                System.out.println("Rollup tables created, backfilling...");
+                RollupTables.rebuildAll();
+            }
+        }));
+
+        // Every transactions query filters on user_id first; these cover the range and sort that follow
+        MIGRATIONS.add(new Migration(2, "Index transactions by user, type and date", conn ->
+                createIndex(conn, "transactions", "idx_txn_user_type_date", "user_id, type, transaction_date")));
+        // No query reads transactions by category (budgets and insights use the rollups), so this
+        // index only cost writes; it is no longer created, and migration 6 drops it where it was
+        MIGRATIONS.add(new Migration(3, "Index transactions by user, category and date", conn -> { }));
+        MIGRATIONS.add(new Migration(4, "Index transactions by user and date for paging", conn ->
+                createIndex(conn, "transactions", "idx_txn_user_date_id", "user_id, transaction_date, transaction_id")));
+
+        MIGRATIONS.add(new Migration(5, "Insights snapshots for the nightly batch", InsightsSnapshots::createTable));
+        MIGRATIONS.add(new Migration(6, "Drop the unused user, category and date index", conn ->
+                dropIndex(conn, "transactions", "idx_txn_user_category_date")));
+    }
+
+    // Applies every migration this database has not seen yet, in version order
+    public static void migrate() {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            Statement stmt = conn.createStatement();
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS " + VERSION_TABLE + " (" +
+                    "version INT PRIMARY KEY, " +
+                    "description VARCHAR(200) NOT NULL, " +
+                    "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+
+            Set<Integer> applied = new HashSet<>();
+            ResultSet rs = stmt.executeQuery("SELECT version FROM " + VERSION_TABLE);
+            while (rs.next()) {
+                applied.add(rs.getInt("version"));
+            }
+
+            for (Migration migration : MIGRATIONS) {
+                if (applied.contains(migration.version)) continue;
+
+                System.out.println("Applying schema migration " + migration.version + ": " + migration.description);
+                // MySQL commits DDL implicitly, so a failed step stops here and is retried on the next start
+                migration.step.apply(conn);
+
+                PreparedStatement record = conn.prepareStatement(
+                        "INSERT INTO " + VERSION_TABLE + " (version, description) VALUES (?, ?)");
+                record.setInt(1, migration.version);
+                record.setString(2, migration.description);
+                record.executeUpdate();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public static int currentVersion() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            ResultSet rs = conn.createStatement().executeQuery(
+                    "SELECT COALESCE(MAX(version), 0) as version FROM " + VERSION_TABLE);
+            return rs.next() ? rs.getInt("version") : 0;
+        }
+    }
+
+    // MySQL has no CREATE INDEX IF NOT EXISTS, and an index may already have been added by hand
+    private static void createIndex(Connection conn, String table, String index, String columns) throws SQLException {
+        if (indexExists(conn, table, index)) {
+            return;
+        }
+        conn.createStatement().executeUpdate("CREATE INDEX " + index + " ON " + table + " (" + columns + ")");
+    }
+
+    private static void dropIndex(Connection conn, String table, String index) throws SQLException {
+        if (indexExists(conn, table, index)) {
+            conn.createStatement().executeUpdate("DROP INDEX " + index + " ON " + table);
+        }
+    }
+
+    private static boolean indexExists(Connection conn, String table, String index) throws SQLException {
+        String query = "SELECT COUNT(*) as found FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?";
+        PreparedStatement pstmt = conn.prepareStatement(query);
+        pstmt.setString(1, table);
+        pstmt.setString(2, index);
+        ResultSet rs = pstmt.executeQuery();
+        return rs.next() && rs.getInt("found") > 0;
+    }
+
+    private interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    private static class Migration {
+        private final int version;
+        private final String description;
+        private final Step step;
+
+        Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+}
@@ -38,6 +38,10 @@ public class TestDatabase {
                 System.out.println("✅ Users in database: " + rs.getInt("count"));
             }
 
+            // Test 5: Pool statistics
+            conn.close();
+            System.out.println("✅ " + DatabaseConnection.getPoolStats());
+
             // Close connection
             //DatabaseConnection.closeConnection();
             System.out.println("\n✅ All tests completed!");
@@ -0,0 +1,83 @@
+package Database;
+
+import gui.TransactionTableModel;
+import utils.WeeklyReport;
+import java.sql.*;
+import java.time.LocalDate;
+
+// Regression check for the hot transactions queries: runs EXPLAIN on the exact query strings the
+// app runs against the local database and fails if MySQL would scan instead of using the expected index.
+// Run after SchemaMigrations; exits with status 1 if any check fails.
+public class TestIndexes {
+
+    private static int failures = 0;
+
+    public static void main(String[] args) {
+        System.out.println("Checking query plans...");
+
+        SchemaMigrations.migrate();
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            System.out.println("✅ Schema version: " + SchemaMigrations.currentVersion());
+
+            ResultSet users = conn.createStatement().executeQuery("SELECT MIN(user_id) as user_id FROM users");
+            int userId = users.next() ? users.getInt("user_id") : 1;
+
+            Timestamp weekStart = Timestamp.valueOf(LocalDate.now().minusDays(7).atStartOfDay());
+            Timestamp weekEnd = Timestamp.valueOf(LocalDate.now().plusDays(1).atStartOfDay());
+
+            // Test 1: Weekly report category breakdown
+            check(conn, "Weekly spending by category", WeeklyReport.CATEGORY_QUERY,
+                    "idx_txn_user_type_date", userId, weekStart, weekEnd);
+
+            // Test 2: Recent transactions on the dashboard
+            check(conn, "Recent transactions", TransactionDAO.RECENT_QUERY,
+                    "idx_txn_user_date_id", userId, 10);
+
+            // Test 3: First page of the Transactions view
+            check(conn, "Transactions first page", TransactionTableModel.pageQuery(false),
+                    "idx_txn_user_date_id", userId, Integer.MAX_VALUE, 100, 0);
+
+            // Test 4: Keyset page seek in the Transactions view
+            check(conn, "Transactions page seek", TransactionTableModel.pageQuery(true),
+                    "idx_txn_user_date_id", userId, Integer.MAX_VALUE, weekEnd, weekEnd, Integer.MAX_VALUE, 100, 0);
+
+            System.out.println(failures == 0 ? "\n✅ All plans use their indexes!" : "\n❌ " + failures + " plan(s) regressed");
+        } catch (SQLException e) {
+            System.out.println("❌ Database error: " + e.getMessage());
+            e.printStackTrace();
+            failures++;
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    // Passes when the transactions table is read through the expected index, never by a full scan
+    private static void check(Connection conn, String name, String query, String expectedIndex, Object... params) throws SQLException {
+        PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + query);
+        for (int i = 0; i < params.length; i++) {
+            pstmt.setObject(i + 1, params[i]);
+        }
+        ResultSet rs = pstmt.executeQuery();
+
+        while (rs.next()) {
+            if (!"t".equals(rs.getString("table"))) continue;
+
+            String type = rs.getString("type");
+            String key = rs.getString("key");
+            String extra = rs.getString("Extra");
+            if (expectedIndex.equals(key) && !"ALL".equals(type)) {
+                System.out.println("✅ " + name + ": " + type + " on " + key + " (~" + rs.getLong("rows") + " rows)");
+            } else {
+                System.out.println("❌ " + name + ": expected " + expectedIndex + ", got type=" + type +
+                        " key=" + key + (extra != null ? " (" + extra + ")" : ""));
+                failures++;
+            }
+            return;
+        }
+        System.out.println("❌ " + name + ": no plan row for transactions");
+        failures++;
+    }
+}
@@ -0,0 +1,190 @@
+package Database;
+
+import models.Money;
+import models.Transaction;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TransactionDAO {
+
+    // Public so TestIndexes can EXPLAIN the exact query
+    public static final String RECENT_QUERY = "SELECT t.*, c.category_name FROM transactions t " +
+            "JOIN categories c ON t.category_id = c.category_id " +
+            "WHERE t.user_id = ? ORDER BY t.transaction_date DESC, t.transaction_id DESC LIMIT ?";
+
+    // Writes one transaction, the new balance and the rollups in a single DB transaction.
+    // The balance is changed relative to whatever is stored, never from a value the client read
+    // earlier, so concurrent clients cannot overwrite each other. The UPDATE holds the user's row
+    // lock until commit, which also gives each row a balance_after that matches the commit order.
+    public static Transaction addTransaction(int userId, String type, String category,
+                                             long amount, String description) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            int categoryId = CategoryRegistry.idOf(category);
+
+            long newBalance = applyToBalance(conn, userId, type, amount);
+
+            String transQuery = "INSERT INTO transactions (user_id, category_id, amount, type, description, balance_after, transaction_date) VALUES (?, ?, ?, ?, ?, ?, NOW())";
+            PreparedStatement transStmt = conn.prepareStatement(transQuery, Statement.RETURN_GENERATED_KEYS);
+            transStmt.setInt(1, userId);
+            transStmt.setInt(2, categoryId);
+            Money.bind(transStmt, 3, amount);
+            transStmt.setString(4, type);
+            transStmt.setString(5, description);
+            Money.bind(transStmt, 6, newBalance);
+            transStmt.executeUpdate();
+
+            ResultSet keys = transStmt.getGeneratedKeys();
+            int transactionId = keys.next() ? keys.getInt(1) : 0;
+
+            RollupTables.applyTransaction(conn, userId, categoryId, type, amount);
+
+            String dateQuery = "SELECT transaction_date FROM transactions WHERE transaction_id = ?";
+            PreparedStatement dateStmt = conn.prepareStatement(dateQuery);
+            dateStmt.setInt(1, transactionId);
+            ResultSet dateRs = dateStmt.executeQuery();
+            Timestamp date = dateRs.next() ? dateRs.getTimestamp("transaction_date") : new Timestamp(System.currentTimeMillis());
+
+            conn.commit();
+
+            return new Transaction(transactionId, type, amount, category, description, date, newBalance);
+        }
+    }
+
+    // Newest first
+    public static List<Transaction> getRecentTransactions(int userId, int limit) throws SQLException {
+        List<Transaction> transactions = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            PreparedStatement pstmt = conn.prepareStatement(RECENT_QUERY);
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, limit);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                transactions.add(new Transaction(
+                        rs.getInt("transaction_id"),
+                        rs.getString("type"),
+                        Money.read(rs, "amount"),
+                        rs.getString("category_name"),
+                        rs.getString("description"),
+                        rs.getTimestamp("transaction_date"),
+                        Money.read(rs, "balance_after")
+                ));
+            }
+        }
+        return transactions;
+    }
+
+    // Amounts and balances are in minor units (see Money).
+
+    // Adds a signed amount to the stored balance with no overdraft guard; for bulk writers that
+    // bring in history which has already happened. Returns the balance after the change.
+    public static long adjustBalance(Connection conn, int userId, long delta) throws SQLException {
+        String query = "UPDATE users SET current_balance = current_balance + ? WHERE user_id = ?";
+        PreparedStatement pstmt = conn.prepareStatement(query);
+        Money.bind(pstmt, 1, delta);
+        pstmt.setInt(2, userId);
+        if (pstmt.executeUpdate() == 0) {
+            throw new SQLException("User " + userId + " not found");
+        }
+        return readBalance(conn, userId);
+    }
+
+    // Moves the stored balance by a deposit or withdrawal and returns the result. Must run inside
+    // the caller's DB transaction; a withdrawal that would go negative changes nothing and throws.
+    public static long applyToBalance(Connection conn, int userId, String type, long amount) throws SQLException {
+        int updated;
+        if (type.equals("DEPOSIT")) {
+            String query = "UPDATE users SET current_balance = current_balance + ? WHERE user_id = ?";
+            PreparedStatement pstmt = conn.prepareStatement(query);
+            Money.bind(pstmt, 1, amount);
+            pstmt.setInt(2, userId);
+            updated = pstmt.executeUpdate();
+        } else {
+            String query = "UPDATE users SET current_balance = current_balance - ? " +
+                    "WHERE user_id = ? AND current_balance >= ?";
+            PreparedStatement pstmt = conn.prepareStatement(query);
+            Money.bind(pstmt, 1, amount);
+            pstmt.setInt(2, userId);
+            Money.bind(pstmt, 3, amount);
+            updated = pstmt.executeUpdate();
+        }
+        if (updated == 0) {
+            if (type.equals("DEPOSIT")) {
+                throw new SQLException("User " + userId + " not found");
+            }
+            throw new InsufficientBalanceException(userId, amount);
+        }
+
+        // Our UPDATE holds the row lock, so this reads our own result and nobody else's
+        return readBalance(conn, userId);
+    }
+
+    // Locks the user's row until the caller's DB transaction ends and returns the stored balance.
+    // addTransaction takes the same lock first, so no row can be added while the caller holds it.
+    public static long lockBalance(Connection conn, int userId) throws SQLException {
+        PreparedStatement pstmt = conn.prepareStatement("SELECT current_balance FROM users WHERE user_id = ? FOR UPDATE");
+        pstmt.setInt(1, userId);
+        ResultSet rs = pstmt.executeQuery();
+        if (!rs.next()) {
+            throw new SQLException("User " + userId + " not found");
+        }
+        return Money.read(rs, "current_balance");
+    }
+
+    // balance_after of the user's last row dated before `date`, or zero if there is none
+    public static long balanceBefore(Connection conn, int userId, Timestamp date) throws SQLException {
+        String query = "SELECT balance_after FROM transactions WHERE user_id = ? AND transaction_date < ? " +
+                "ORDER BY transaction_date DESC, transaction_id DESC LIMIT 1";
+        PreparedStatement pstmt = conn.prepareStatement(query);
+        pstmt.setInt(1, userId);
+        pstmt.setTimestamp(2, date);
+        ResultSet rs = pstmt.executeQuery();
+        return rs.next() ? Money.read(rs, "balance_after") : 0;
+    }
+
+    // Rewrites balance_after for the user's rows dated at or after `from`, running on from the row
+    // before them, after back-dated rows went in. Only rows whose value changes are written.
+    // Call while holding lockBalance. Returns the number of rows changed.
+    public static int recomputeBalances(Connection conn, int userId, Timestamp from) throws SQLException {
+        long running = balanceBefore(conn, userId, from);
+
+        String query = "SELECT transaction_id, type, amount, balance_after FROM transactions " +
+                "WHERE user_id = ? AND transaction_date >= ? ORDER BY transaction_date, transaction_id";
+        PreparedStatement pstmt = conn.prepareStatement(query);
+        pstmt.setInt(1, userId);
+        pstmt.setTimestamp(2, from);
+        ResultSet rs = pstmt.executeQuery();
+
+        PreparedStatement updateStmt = conn.prepareStatement("UPDATE transactions SET balance_after = ? WHERE transaction_id = ?");
+        int changed = 0;
+        while (rs.next()) {
+            long amount = Money.read(rs, "amount");
+            running += "DEPOSIT".equals(rs.getString("type")) ? amount : -amount;
+            if (Money.read(rs, "balance_after") != running) {
+                Money.bind(updateStmt, 1, running);
+                updateStmt.setInt(2, rs.getInt("transaction_id"));
+                updateStmt.addBatch();
+                changed++;
+            }
+        }
+        rs.close();
+        if (changed > 0) {
+            updateStmt.executeBatch();
+        }
+        return changed;
+    }
+
+    public static long readBalance(Connection conn, int userId) throws SQLException {
+        String balanceQuery = "SELECT current_balance FROM users WHERE user_id = ?";
+        PreparedStatement balanceStmt = conn.prepareStatement(balanceQuery);
+        balanceStmt.setInt(1, userId);
+        ResultSet rs = balanceStmt.executeQuery();
+        if (!rs.next()) {
+            throw new SQLException("User " + userId + " not found");
+        }
+        return Money.read(rs, "current_balance");
+    }
+}
@@ -1,4 +1,5 @@
 import Database.DatabaseConnection;
+import Database.SchemaMigrations;
 import gui.LoginFrame;
 import javax.swing.*;
 
@@ -11,6 +12,9 @@ public class Main {
             e.printStackTrace();
         }
 
+        // Bring the schema (summary tables, indexes) up to date before any screen reads it
+        SchemaMigrations.migrate();
+
         // Start application
         SwingUtilities.invokeLater(() -> {
             new LoginFrame().setVisible(true);
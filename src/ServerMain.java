@@ -0,0 +1,27 @@
+import Database.DatabaseConnection;
+import Database.SchemaMigrations;
+import server.LedgerServer;
+import java.io.IOException;
+
+// Runs the ledger as a local HTTP service with no window (see server.LedgerServer).
+// Usage: ServerMain [port]
+public class ServerMain {
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : LedgerServer.DEFAULT_PORT;
+
+        SchemaMigrations.migrate();
+
+        try {
+            LedgerServer server = new LedgerServer(port);
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop();
+                DatabaseConnection.closeConnection();
+            }));
+            System.out.println("✅ Ledger service listening on http://127.0.0.1:" + server.getPort() + "/users/{id}/...");
+        } catch (IOException e) {
+            System.out.println("❌ Could not start the ledger service: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package gui;
+
+import Database.BudgetDAO;
+import Database.CategoryRegistry;
+import Database.DatabaseConnection;
+import Database.RollupTables;
+import Database.TransactionDAO;
+import models.Budget;
+import models.Money;
+import models.Transaction;
+import models.TransactionStore;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+// The queries MainFrame needs to draw its first screen. None of them depend on each other,
+// so start() fires them all at once on pooled connections right after login. Each part of
+// the window takes its result once; after that the same call queries again for fresh data.
+public class DashboardPipeline {
+    public static final int RECENT_LIMIT = 10;
+
+    private final int userId;
+
+    // Only touched on the EDT
+    private CompletableFuture<long[]> quickStats;
+    private CompletableFuture<List<Transaction>> recentTransactions;
+    private CompletableFuture<List<Budget>> budgets;
+    private CompletableFuture<List<String>> categories;
+    private CompletableFuture<TransactionStore> transactionStore;
+
+    public DashboardPipeline(int userId) {
+        this.userId = userId;
+    }
+
+    public DashboardPipeline start() {
+        quickStats = supply(() -> fetchQuickStats(userId));
+        recentTransactions = supply(() -> fetchRecentTransactions(userId));
+        budgets = supply(() -> BudgetDAO.getBudgets(userId));
+        categories = supply(DashboardPipeline::fetchCategories);
+        // The whole history, for in-memory scans once the first screen is up
+        transactionStore = supply(() -> TransactionStore.load(userId));
+        return this;
+    }
+
+    private static <T> CompletableFuture<T> supply(Callable<T> query) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return query.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, DataLoader.executor());
+    }
+
+    // Blocks the calling background thread until the prefetched result is in
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    public Callable<long[]> quickStats() {
+        CompletableFuture<long[]> prefetched = quickStats;
+        quickStats = null;
+        return prefetched != null ? () -> await(prefetched) : () -> fetchQuickStats(userId);
+    }
+
+    public Callable<List<Transaction>> recentTransactions() {
+        CompletableFuture<List<Transaction>> prefetched = recentTransactions;
+        recentTransactions = null;
+        return prefetched != null ? () -> await(prefetched) : () -> fetchRecentTransactions(userId);
+    }
+
+    public Callable<List<Budget>> budgets() {
+        CompletableFuture<List<Budget>> prefetched = budgets;
+        budgets = null;
+        return prefetched != null ? () -> await(prefetched) : () -> BudgetDAO.getBudgets(userId);
+    }
+
+    public Callable<List<String>> categories() {
+        CompletableFuture<List<String>> prefetched = categories;
+        categories = null;
+        return prefetched != null ? () -> await(prefetched) : DashboardPipeline::fetchCategories;
+    }
+
+    public Callable<TransactionStore> transactionStore() {
+        CompletableFuture<TransactionStore> prefetched = transactionStore;
+        transactionStore = null;
+        return prefetched != null ? () -> await(prefetched) : () -> TransactionStore.load(userId);
+    }
+
+    // Today's spending, this month's spending and this month's income, in minor units
+    public static long[] fetchQuickStats(int userId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            String todayQuery = "SELECT COALESCE(SUM(expenses), 0) as total FROM " + RollupTables.DAILY_TABLE + " " +
+                    "WHERE user_id = ? AND day = CURDATE()";
+            PreparedStatement todayStmt = conn.prepareStatement(todayQuery);
+            todayStmt.setInt(1, userId);
+            ResultSet todayRs = todayStmt.executeQuery();
+            long todaySpent = todayRs.next() ? Money.read(todayRs, "total") : 0;
+
+            String monthQuery = "SELECT " +
+                    "COALESCE(SUM(CASE WHEN type = 'WITHDRAWAL' THEN total ELSE 0 END), 0) as spent, " +
+                    "COALESCE(SUM(CASE WHEN type = 'DEPOSIT' THEN total ELSE 0 END), 0) as income " +
+                    "FROM " + RollupTables.MONTHLY_TABLE + " " +
+                    "WHERE user_id = ? AND month_start = DATE_FORMAT(CURDATE(), '%Y-%m-01')";
+            PreparedStatement monthStmt = conn.prepareStatement(monthQuery);
+            monthStmt.setInt(1, userId);
+            ResultSet monthRs = monthStmt.executeQuery();
+            long monthSpent = 0;
+            long monthIncome = 0;
+            if (monthRs.next()) {
+                monthSpent = Money.read(monthRs, "spent");
+                monthIncome = Money.read(monthRs, "income");
+            }
+
+            return new long[]{todaySpent, monthSpent, monthIncome};
+        }
+    }
+
+    // The same figures as fetchQuickStats, scanned from the in-memory store
+    public static long[] quickStats(TransactionStore.View view) {
+        LocalDate today = LocalDate.now();
+        LocalDate monthStart = today.withDayOfMonth(1);
+        LocalDate nextMonth = monthStart.plusMonths(1);
+        return new long[]{
+                view.sum(TransactionStore.WITHDRAWAL, today, today.plusDays(1)),
+                view.sum(TransactionStore.WITHDRAWAL, monthStart, nextMonth),
+                view.sum(TransactionStore.DEPOSIT, monthStart, nextMonth)
+        };
+    }
+
+    public static List<Transaction> fetchRecentTransactions(int userId) throws SQLException {
+        return TransactionDAO.getRecentTransactions(userId, RECENT_LIMIT);
+    }
+
+    // Income and expense category names, for the Add Transaction form
+    public static List<String> fetchCategories() throws SQLException {
+        return CategoryRegistry.get().names("INCOME", "EXPENSE");
+    }
+}
@@ -0,0 +1,131 @@
+package gui;
+
+import javax.swing.*;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+// Runs database work off the Event Dispatch Thread and hands results back on it.
+// Requests belong to a group (usually a card); a group can be cancelled when the user
+// leaves it, and a request with the same key as an earlier one replaces it.
+public class DataLoader {
+
+    private static final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Only touched on the EDT
+    private final Map<String, List<Request>> groups = new HashMap<>();
+    private final Map<String, Request> byKey = new HashMap<>();
+    private boolean shutdown = false;
+
+    public static ExecutorService executor() {
+        return executor;
+    }
+
+    public <T> Request load(String group, Callable<T> query, Consumer<T> onSuccess) {
+        return load(group, null, query, onSuccess, Throwable::printStackTrace);
+    }
+
+    public <T> Request load(String group, Callable<T> query, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        return load(group, null, query, onSuccess, onError);
+    }
+
+    // Must be called on the EDT. onSuccess/onError also run on the EDT, and never for a cancelled request.
+    public <T> Request load(String group, String key, Callable<T> query, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        Request request = new Request(group, key);
+        if (shutdown) {
+            request.cancelled = true;
+            return request;
+        }
+
+        if (key != null) {
+            Request stale = byKey.put(key, request);
+            if (stale != null) {
+                stale.cancel();
+            }
+        }
+        groups.computeIfAbsent(group, g -> new ArrayList<>()).add(request);
+
+        request.future = executor.submit(() -> {
+            try {
+                T result = query.call();
+                SwingUtilities.invokeLater(() -> {
+                    if (finish(request)) {
+                        onSuccess.accept(result);
+                    }
+                });
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> {
+                    if (finish(request) && onError != null) {
+                        onError.accept(e);
+                    }
+                });
+            }
+        });
+        return request;
+    }
+
+    private boolean finish(Request request) {
+        List<Request> pending = groups.get(request.group);
+        if (pending != null) {
+            pending.remove(request);
+        }
+        if (request.key != null && byKey.get(request.key) == request) {
+            byKey.remove(request.key);
+        }
+        return !request.cancelled;
+    }
+
+    public void cancelGroup(String group) {
+        List<Request> pending = groups.remove(group);
+        if (pending == null) return;
+        for (Request request : pending) {
+            request.cancel();
+            if (request.key != null && byKey.get(request.key) == request) {
+                byKey.remove(request.key);
+            }
+        }
+    }
+
+    // Cancels every listed group except the one being switched to
+    public void cancelOtherGroups(String current, String... cardGroups) {
+        for (String group : cardGroups) {
+            if (!group.equals(current)) {
+                cancelGroup(group);
+            }
+        }
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        for (String group : new ArrayList<>(groups.keySet())) {
+            cancelGroup(group);
+        }
+    }
+
+    public static class Request {
+        private final String group;
+        private final String key;
+        private volatile boolean cancelled = false;
+        private Future<?> future;
+
+        Request(String group, String key) {
+            this.group = group;
+            this.key = key;
+        }
+
+        // Not interrupting: an interrupted virtual thread closes its socket, which would cost a pooled connection
+        public void cancel() {
+            cancelled = true;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package gui;
 
 import Database.DatabaseConnection;
+import models.Money;
 import models.User;
 import javax.swing.*;
 import java.awt.*;
@@ -204,7 +205,7 @@ public class LoginFrame extends JFrame {
                         rs.getString("username"),
                         rs.getString("email"),
                         rs.getString("phone_number"),
-                        rs.getDouble("current_balance")
+                        Money.read(rs, "current_balance")
                 );
 
                 // Update last login
@@ -214,6 +215,9 @@ public class LoginFrame extends JFrame {
                     updateStmt.executeUpdate();
                 }
 
+                // Start the dashboard queries now so they run while the welcome dialog is up
+                DashboardPipeline pipeline = new DashboardPipeline(user.getUserId()).start();
+
                 // Save preferences
                 savePreferences(loginMethod, loginValue, remember);
 
@@ -228,7 +232,7 @@ public class LoginFrame extends JFrame {
                                 "Current Balance: $%.2f",
                         user.getUsername(),
                         loginMethod,
-                        user.getCurrentBalance()
+                        Money.toDecimal(user.getCurrentBalance())
                 );
 
                 JOptionPane.showMessageDialog(this,
@@ -237,7 +241,7 @@ public class LoginFrame extends JFrame {
                         JOptionPane.INFORMATION_MESSAGE);
 
                 // Open main frame
-                new MainFrame(user).setVisible(true);
+                new MainFrame(user, pipeline).setVisible(true);
                 dispose();
 
             } else {
@@ -1,22 +1,43 @@
 package gui;
 
+import Database.BudgetDAO;
+import Database.CategoryRegistry;
 import Database.DatabaseConnection;
+import Database.InsufficientBalanceException;
+import Database.TransactionDAO;
 import listeners.BalanceListener;
+import listeners.TransactionListener;
 import models.*;
-import utils.InsightsGenerator;
+import utils.ChangeMonitor;
+import utils.CsvExporter;
+import utils.HtmlReportRenderer;
+import utils.InsightsCache;
+import utils.MoneyFormat;
 import utils.ReportExporter;
+import utils.StatementImporter;
+import utils.TextReportRenderer;
+import utils.WeeklyReport;
 import utils.FontManager;
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
 import javax.swing.table.DefaultTableModel;
-import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
+import java.awt.event.AWTEventListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 import javax.swing.Timer;
 
 public class MainFrame extends JFrame implements BalanceListener {
@@ -24,15 +45,46 @@ public class MainFrame extends JFrame implements BalanceListener {
     private JLabel balanceLabel;
     private JTable transactionsTable;
     private DefaultTableModel tableModel;
+    private TransactionTableModel transactionsModel;
     private JPanel contentPanel;
     private JPanel sidebar;
     private List<BalanceListener> balanceListeners = new ArrayList<>();
+    private List<TransactionListener> transactionListeners = new ArrayList<>();
+    // Ids already published; a local add and the change monitor can both report the same row
+    private final Set<Integer> publishedTransactions = new HashSet<>();
     private JLabel lastUpdatedLabel;
-    private Timer refreshTimer;
+    private ChangeMonitor changeMonitor;
+    private AWTEventListener activityListener;
+    private JLabel todaySpentLabel;
+    private JLabel monthSpentLabel;
+    private JLabel monthIncomeLabel;
+    private JPanel budgetsPanel;
+    private JTextArea reportArea;
+    private boolean reportStale = true;
+    // The model behind the report card, reused by the HTML export; null once transactions change
+    private volatile WeeklyReport weeklyReport;
+    private final Map<String, Supplier<JPanel>> cardFactories = new LinkedHashMap<>();
+    private final Map<String, JPanel> cards = new HashMap<>();
+    private Timer warmTimer;
+    private final DataLoader loader = new DataLoader();
+    private final DashboardPipeline pipeline;
+    // Full history in memory for scans; null until loaded. Written on the EDT, read from loaders too.
+    private volatile TransactionStore store;
+    private volatile boolean storeLoading;
+    private final List<Transaction> storeBacklog = new ArrayList<>();
     private static final String CURRENCY = "KSH";
+    private static final TextReportRenderer TEXT_RENDERER = new TextReportRenderer();
+    private static final HtmlReportRenderer HTML_RENDERER = new HtmlReportRenderer();
+    private static final String[] CARD_GROUPS = {"DASHBOARD", "TRANSACTIONS", "BUDGET", "REPORT"};
 
     public MainFrame(User user) {
+        this(user, new DashboardPipeline(user.getUserId()));
+    }
+
+    // pipeline may already be running (see LoginFrame); its results fill the first screen
+    public MainFrame(User user, DashboardPipeline pipeline) {
         this.currentUser = user;
+        this.pipeline = pipeline;
         addBalanceListener(this);
 
         setTitle("Finance Tracker - Dashboard");
@@ -51,12 +103,36 @@ public class MainFrame extends JFrame implements BalanceListener {
         contentPanel = new JPanel(new CardLayout());
         contentPanel.setBackground(Color.WHITE);
 
-        // Add different views
-        contentPanel.add(createDashboardPanel(), "DASHBOARD");
-        contentPanel.add(createTransactionsPanel(), "TRANSACTIONS");
-        contentPanel.add(createAddTransactionPanel(), "ADD_TRANSACTION");
-        contentPanel.add(createReportPanel(), "REPORT");
-        contentPanel.add(createBudgetPanel(), "BUDGET");
+        // Only the dashboard is built up front; the other views are built the first time they are shown
+        cardFactories.put("DASHBOARD", this::createDashboardPanel);
+        cardFactories.put("TRANSACTIONS", this::createTransactionsPanel);
+        cardFactories.put("ADD_TRANSACTION", this::createAddTransactionPanel);
+        cardFactories.put("REPORT", this::createReportPanel);
+        cardFactories.put("BUDGET", this::createBudgetPanel);
+        ensureCard("DASHBOARD");
+        addTransactionListener(new TransactionListener() {
+            @Override
+            public void onTransactionAdded(Transaction transaction) {
+                prependRecentTransaction(transaction);
+            }
+
+            @Override
+            public void onTransactionsReloaded() {
+                loadRecentTransactions();
+            }
+        });
+        addTransactionListener(new TransactionListener() {
+            @Override
+            public void onTransactionAdded(Transaction transaction) {
+                appendToStore(transaction);
+            }
+
+            @Override
+            public void onTransactionsReloaded() {
+                loadTransactionStore(() -> TransactionStore.load(currentUser.getUserId()));
+            }
+        });
+        loadTransactionStore(pipeline.transactionStore());
 
         add(contentPanel, BorderLayout.CENTER);
 
@@ -65,17 +141,94 @@ public class MainFrame extends JFrame implements BalanceListener {
 
         // Show dashboard by default
         showDashboard();
+
+        // Once the window is up, build the remaining cards in the background
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                startCardWarmup();
+            }
+        });
+    }
+
+    // Builds a card the first time it is needed. Returns true if it was just built.
+    private boolean ensureCard(String name) {
+        if (cards.containsKey(name)) {
+            return false;
+        }
+        JPanel card = cardFactories.get(name).get();
+        cards.put(name, card);
+        contentPanel.add(card, name);
+        return true;
+    }
+
+    // Builds one card per tick so the EDT is never held for long; each card loads its own data asynchronously
+    private void startCardWarmup() {
+        warmTimer = new Timer(500, null);
+        warmTimer.setInitialDelay(1000);
+        warmTimer.addActionListener(e -> {
+            for (String name : cardFactories.keySet()) {
+                if (!cards.containsKey(name)) {
+                    ensureCard(name);
+                    return;
+                }
+            }
+            warmTimer.stop();
+        });
+        warmTimer.start();
+    }
+
+    // Transactions published while the store loads are replayed onto it once it arrives
+    private void loadTransactionStore(Callable<TransactionStore> query) {
+        storeLoading = true;
+        storeBacklog.clear();
+        loader.load("STORE", "STORE", query, loaded -> {
+            boolean inOrder = true;
+            for (Transaction transaction : storeBacklog) {
+                inOrder &= loaded.append(transaction);
+            }
+            storeBacklog.clear();
+            store = loaded;
+            storeLoading = false;
+            if (!inOrder) {
+                loadTransactionStore(() -> TransactionStore.load(currentUser.getUserId()));
+            }
+        }, e -> {
+            e.printStackTrace();
+            storeBacklog.clear();
+            storeLoading = false;
+        });
+    }
+
+    private void appendToStore(Transaction transaction) {
+        if (storeLoading) {
+            storeBacklog.add(transaction);
+        } else if (store != null && !store.append(transaction)) {
+            // Back-dated row (e.g. an imported statement): rows must stay in date order
+            loadTransactionStore(() -> TransactionStore.load(currentUser.getUserId()));
+        }
+    }
+
+    // A consistent snapshot of the store, or null while it is (re)loading; safe from any thread
+    private TransactionStore.View storeView() {
+        TransactionStore current = store;
+        return current != null && !storeLoading ? current.view() : null;
     }
 
     public void addBalanceListener(BalanceListener listener) {
         balanceListeners.add(listener);
     }
 
+    public void addTransactionListener(TransactionListener listener) {
+        transactionListeners.add(listener);
+    }
+
     @Override
     public void onBalanceChanged(User user) {
         SwingUtilities.invokeLater(() -> {
+            markReportStale();
             updateBalance();
-            refreshRecentTransactions();
+            loadQuickStats();
             if (lastUpdatedLabel != null) {
                 lastUpdatedLabel.setText("Last updated: " +
                         LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")));
@@ -89,37 +242,60 @@ public class MainFrame extends JFrame implements BalanceListener {
         }
     }
 
-    private String formatKSH(double amount) {
-        return String.format(CURRENCY + " %,.2f", amount);
+    private void notifyBalanceChanged(long delta) {
+        for (BalanceListener listener : balanceListeners) {
+            listener.onBalanceChanged(currentUser, delta);
+        }
     }
 
-    private void startRealTimeUpdates() {
-        // Refresh every 30 seconds
-        refreshTimer = new Timer(30000, e -> {
-            refreshUserBalance();
-        });
-        refreshTimer.start();
+    private void notifyTransactionAdded(Transaction transaction) {
+        if (!publishedTransactions.add(transaction.getTransactionId())) {
+            return;
+        }
+        for (TransactionListener listener : transactionListeners) {
+            listener.onTransactionAdded(transaction);
+        }
     }
 
-    private void refreshUserBalance() {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String query = "SELECT current_balance FROM users WHERE user_id = ?";
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            pstmt.setInt(1, currentUser.getUserId());
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                double newBalance = rs.getDouble("current_balance");
-                if (newBalance != currentUser.getCurrentBalance()) {
-                    currentUser.setCurrentBalance(newBalance);
-                    notifyBalanceChanged();
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+    private void notifyTransactionsReloaded() {
+        for (TransactionListener listener : transactionListeners) {
+            listener.onTransactionsReloaded();
         }
     }
 
+    private String formatKSH(long amount) {
+        return MoneyFormat.formatKSH(amount);
+    }
+
+    private void startRealTimeUpdates() {
+        // Picks up changes made from other clients; checks back off while nobody is using the window
+        changeMonitor = ChangeMonitor.watch(currentUser, new BalanceListener() {
+            @Override
+            public void onBalanceChanged(User user) {
+                notifyBalanceChanged(0);
+            }
+
+            @Override
+            public void onBalanceChanged(User user, long delta) {
+                notifyBalanceChanged(delta);
+            }
+        }, new TransactionListener() {
+            @Override
+            public void onTransactionAdded(Transaction transaction) {
+                notifyTransactionAdded(transaction);
+            }
+
+            @Override
+            public void onTransactionsReloaded() {
+                notifyTransactionsReloaded();
+            }
+        });
+
+        activityListener = e -> changeMonitor.touch();
+        Toolkit.getDefaultToolkit().addAWTEventListener(activityListener,
+                AWTEvent.KEY_EVENT_MASK | AWTEvent.MOUSE_EVENT_MASK | AWTEvent.MOUSE_WHEEL_EVENT_MASK);
+    }
+
     private JPanel createSidebar() {
         JPanel sidebar = new JPanel();
         sidebar.setPreferredSize(new Dimension(280, getHeight()));
@@ -280,10 +456,8 @@ public class MainFrame extends JFrame implements BalanceListener {
         transactionsTable.getTableHeader().setFont(FontManager.getBoldFont(13));
         transactionsTable.getTableHeader().setBackground(new Color(240, 240, 240));
 
-        // Center align amount column
-        DefaultTableCellRenderer centerRenderer = new DefaultTableCellRenderer();
-        centerRenderer.setHorizontalAlignment(SwingConstants.CENTER);
-        transactionsTable.getColumnModel().getColumn(2).setCellRenderer(centerRenderer);
+        // Center align amount column; rows hold the raw amount and it is formatted when painted
+        transactionsTable.getColumnModel().getColumn(2).setCellRenderer(new MoneyCellRenderer(SwingConstants.CENTER));
 
         JScrollPane scrollPane = new JScrollPane(transactionsTable);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
@@ -291,8 +465,7 @@ public class MainFrame extends JFrame implements BalanceListener {
 
         panel.add(recentPanel, BorderLayout.SOUTH);
 
-        loadRecentTransactions();
-
+        // Rows and stats are loaded by showDashboard()
         return panel;
     }
 
@@ -301,43 +474,36 @@ public class MainFrame extends JFrame implements BalanceListener {
         panel.setBackground(Color.WHITE);
         panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 30, 20));
 
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            // Get today's spending
-            String todayQuery = "SELECT COALESCE(SUM(amount), 0) as total FROM transactions " +
-                    "WHERE user_id = ? AND type = 'WITHDRAWAL' AND DATE(transaction_date) = CURDATE()";
-            PreparedStatement todayStmt = conn.prepareStatement(todayQuery);
-            todayStmt.setInt(1, currentUser.getUserId());
-            ResultSet todayRs = todayStmt.executeQuery();
-            double todaySpent = todayRs.next() ? todayRs.getDouble("total") : 0;
-
-            // Get this month's spending
-            String monthQuery = "SELECT COALESCE(SUM(amount), 0) as total FROM transactions " +
-                    "WHERE user_id = ? AND type = 'WITHDRAWAL' AND MONTH(transaction_date) = MONTH(NOW())";
-            PreparedStatement monthStmt = conn.prepareStatement(monthQuery);
-            monthStmt.setInt(1, currentUser.getUserId());
-            ResultSet monthRs = monthStmt.executeQuery();
-            double monthSpent = monthRs.next() ? monthRs.getDouble("total") : 0;
-
-            // Get this month's income
-            String incomeQuery = "SELECT COALESCE(SUM(amount), 0) as total FROM transactions " +
-                    "WHERE user_id = ? AND type = 'DEPOSIT' AND MONTH(transaction_date) = MONTH(NOW())";
-            PreparedStatement incomeStmt = conn.prepareStatement(incomeQuery);
-            incomeStmt.setInt(1, currentUser.getUserId());
-            ResultSet incomeRs = incomeStmt.executeQuery();
-            double monthIncome = incomeRs.next() ? incomeRs.getDouble("total") : 0;
-
-            panel.add(createStatCard("Today's Spending", formatKSH(todaySpent), new Color(255, 152, 0)));
-            panel.add(createStatCard("Month's Spending", formatKSH(monthSpent), new Color(244, 67, 54)));
-            panel.add(createStatCard("Month's Income", formatKSH(monthIncome), new Color(76, 175, 80)));
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        todaySpentLabel = new JLabel("Loading...", SwingConstants.CENTER);
+        monthSpentLabel = new JLabel("Loading...", SwingConstants.CENTER);
+        monthIncomeLabel = new JLabel("Loading...", SwingConstants.CENTER);
+
+        panel.add(createStatCard("Today's Spending", todaySpentLabel, new Color(255, 152, 0)));
+        panel.add(createStatCard("Month's Spending", monthSpentLabel, new Color(244, 67, 54)));
+        panel.add(createStatCard("Month's Income", monthIncomeLabel, new Color(76, 175, 80)));
 
         return panel;
     }
 
-    private JPanel createStatCard(String title, String value, Color color) {
+    private void loadQuickStats() {
+        if (todaySpentLabel == null) {
+            return;
+        }
+        TransactionStore.View view = storeView();
+        Callable<long[]> query = view != null ? () -> DashboardPipeline.quickStats(view) : pipeline.quickStats();
+        loader.load("DASHBOARD", "QUICK_STATS", query, stats -> {
+            todaySpentLabel.setText(formatKSH(stats[0]));
+            monthSpentLabel.setText(formatKSH(stats[1]));
+            monthIncomeLabel.setText(formatKSH(stats[2]));
+        }, e -> {
+            e.printStackTrace();
+            todaySpentLabel.setText("Unavailable");
+            monthSpentLabel.setText("Unavailable");
+            monthIncomeLabel.setText("Unavailable");
+        });
+    }
+
+    private JPanel createStatCard(String title, JLabel valueLabel, Color color) {
         JPanel card = new JPanel(new BorderLayout()) {
             @Override
             protected void paintComponent(Graphics g) {
@@ -355,7 +521,6 @@ public class MainFrame extends JFrame implements BalanceListener {
         titleLabel.setForeground(Color.WHITE);
         card.add(titleLabel, BorderLayout.NORTH);
 
-        JLabel valueLabel = new JLabel(value, SwingConstants.CENTER);
         valueLabel.setFont(FontManager.getBoldFont(20));
         valueLabel.setForeground(Color.WHITE);
         card.add(valueLabel, BorderLayout.CENTER);
@@ -373,7 +538,7 @@ public class MainFrame extends JFrame implements BalanceListener {
         title.setForeground(new Color(25, 118, 210));
         panel.add(title, BorderLayout.NORTH);
 
-        JPanel budgetsPanel = new JPanel();
+        budgetsPanel = new JPanel();
         budgetsPanel.setLayout(new BoxLayout(budgetsPanel, BoxLayout.Y_AXIS));
         budgetsPanel.setBackground(Color.WHITE);
 
@@ -395,20 +560,21 @@ public class MainFrame extends JFrame implements BalanceListener {
         return panel;
     }
 
-    private void addBudgetBar(JPanel panel, String category, double limit, double spent) {
+    private void addBudgetBar(JPanel panel, String category, long limit, long spent) {
         JPanel barPanel = new JPanel(new BorderLayout());
         barPanel.setBackground(Color.WHITE);
         barPanel.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
 
-        double percentage = (spent / limit) * 100;
+        double percentage = Money.percent(spent, limit);
 
         JLabel label = new JLabel(String.format("%s: %s / %s (%.1f%%)",
                 category, formatKSH(spent), formatKSH(limit), percentage));
         label.setFont(FontManager.getBoldFont(14));
         barPanel.add(label, BorderLayout.NORTH);
 
-        JProgressBar progressBar = new JProgressBar(0, (int)limit);
-        progressBar.setValue((int)spent);
+        // Whole shillings, so large limits still fit the bar's int range
+        JProgressBar progressBar = new JProgressBar(0, (int) (limit / Money.UNIT));
+        progressBar.setValue((int) (spent / Money.UNIT));
         progressBar.setStringPainted(true);
         progressBar.setFont(FontManager.getRegularFont(12));
         progressBar.setString(String.format("%s / %s", formatKSH(spent), formatKSH(limit)));
@@ -459,20 +625,17 @@ public class MainFrame extends JFrame implements BalanceListener {
         JComboBox<String> categoryCombo = new JComboBox<>();
         categoryCombo.setFont(FontManager.getRegularFont(14));
 
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String query = "SELECT category_name FROM categories WHERE category_type = 'EXPENSE'";
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery(query);
-            while (rs.next()) {
-                categoryCombo.addItem(rs.getString("category_name"));
+        loader.load("BUDGET", () -> CategoryRegistry.get().names("EXPENSE"), names -> {
+            for (String name : names) {
+                categoryCombo.addItem(name);
             }
-        } catch (SQLException e) {
+        }, e -> {
             e.printStackTrace();
             String[] fallback = {"Food & Dining", "Shopping", "Transportation", "Entertainment", "Bills & Utilities", "Healthcare"};
             for (String cat : fallback) {
                 categoryCombo.addItem(cat);
             }
-        }
+        });
 
         panel.add(categoryCombo, gbc);
 
@@ -490,49 +653,24 @@ public class MainFrame extends JFrame implements BalanceListener {
             String limitStr = limitField.getText();
 
             try {
-                double limit = Double.parseDouble(limitStr);
-
-                try (Connection conn = DatabaseConnection.getConnection()) {
-                    String catQuery = "SELECT category_id FROM categories WHERE category_name = ?";
-                    PreparedStatement catStmt = conn.prepareStatement(catQuery);
-                    catStmt.setString(1, category);
-                    ResultSet catRs = catStmt.executeQuery();
-
-                    if (catRs.next()) {
-                        int categoryId = catRs.getInt("category_id");
-
-                        String checkQuery = "SELECT budget_id FROM budgets WHERE user_id = ? AND category_id = ?";
-                        PreparedStatement checkStmt = conn.prepareStatement(checkQuery);
-                        checkStmt.setInt(1, currentUser.getUserId());
-                        checkStmt.setInt(2, categoryId);
-                        ResultSet checkRs = checkStmt.executeQuery();
-
-                        if (checkRs.next()) {
-                            String updateQuery = "UPDATE budgets SET monthly_limit = ? WHERE user_id = ? AND category_id = ?";
-                            PreparedStatement updateStmt = conn.prepareStatement(updateQuery);
-                            updateStmt.setDouble(1, limit);
-                            updateStmt.setInt(2, currentUser.getUserId());
-                            updateStmt.setInt(3, categoryId);
-                            updateStmt.executeUpdate();
-                        } else {
-                            String insertQuery = "INSERT INTO budgets (user_id, category_id, monthly_limit) VALUES (?, ?, ?)";
-                            PreparedStatement insertStmt = conn.prepareStatement(insertQuery);
-                            insertStmt.setInt(1, currentUser.getUserId());
-                            insertStmt.setInt(2, categoryId);
-                            insertStmt.setDouble(3, limit);
-                            insertStmt.executeUpdate();
-                        }
+                long limit = Money.parse(limitStr);
 
+                saveBtn.setEnabled(false);
+                loader.load("BUDGET", () -> BudgetDAO.saveBudget(currentUser.getUserId(), category, limit), saved -> {
+                    if (saved) {
                         JOptionPane.showMessageDialog(dialog, "Budget saved successfully!");
                         dialog.dispose();
                         showBudget();
+                    } else {
+                        saveBtn.setEnabled(true);
                     }
-                }
+                }, ex -> {
+                    ex.printStackTrace();
+                    JOptionPane.showMessageDialog(dialog, "Database error: " + ex.getMessage());
+                    saveBtn.setEnabled(true);
+                });
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(dialog, "Please enter a valid number");
-            } catch (SQLException ex) {
-                ex.printStackTrace();
-                JOptionPane.showMessageDialog(dialog, "Database error: " + ex.getMessage());
             }
         });
 
@@ -549,39 +687,20 @@ public class MainFrame extends JFrame implements BalanceListener {
 
     private void loadBudgets(JPanel budgetsPanel) {
         budgetsPanel.removeAll();
+        JLabel loadingLabel = new JLabel("Loading budgets...");
+        loadingLabel.setFont(FontManager.getRegularFont(14));
+        loadingLabel.setForeground(Color.GRAY);
+        budgetsPanel.add(loadingLabel);
+        budgetsPanel.revalidate();
+        budgetsPanel.repaint();
 
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String query = "SELECT b.*, c.category_name, " +
-                    "COALESCE((SELECT SUM(amount) FROM transactions t " +
-                    "WHERE t.user_id = b.user_id AND t.category_id = b.category_id " +
-                    "AND t.type = 'WITHDRAWAL' " +
-                    "AND MONTH(t.transaction_date) = MONTH(NOW())), 0) as spent " +
-                    "FROM budgets b " +
-                    "JOIN categories c ON b.category_id = c.category_id " +
-                    "WHERE b.user_id = ?";
-
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            pstmt.setInt(1, currentUser.getUserId());
-            ResultSet rs = pstmt.executeQuery();
-
-            boolean hasBudgets = false;
-            while (rs.next()) {
-                hasBudgets = true;
-                double limit = rs.getDouble("monthly_limit");
-                double spent = rs.getDouble("spent");
-                String category = rs.getString("category_name");
-                int budgetId = rs.getInt("budget_id");
-
-                String updateQuery = "UPDATE budgets SET spent_so_far = ? WHERE budget_id = ?";
-                PreparedStatement updateStmt = conn.prepareStatement(updateQuery);
-                updateStmt.setDouble(1, spent);
-                updateStmt.setInt(2, budgetId);
-                updateStmt.executeUpdate();
-
-                addBudgetBar(budgetsPanel, category, limit, spent);
+        loader.load("BUDGET", "BUDGETS", pipeline.budgets(), budgets -> {
+            budgetsPanel.removeAll();
+            for (Budget budget : budgets) {
+                addBudgetBar(budgetsPanel, budget.getCategoryName(), budget.getMonthlyLimit(), budget.getSpentSoFar());
             }
 
-            if (!hasBudgets) {
+            if (budgets.isEmpty()) {
                 JLabel noBudgetsLabel = new JLabel("No budgets set. Click 'Set New Budget' to create one.");
                 noBudgetsLabel.setFont(FontManager.getRegularFont(14));
                 noBudgetsLabel.setForeground(Color.GRAY);
@@ -589,57 +708,44 @@ public class MainFrame extends JFrame implements BalanceListener {
                 budgetsPanel.add(noBudgetsLabel);
             }
 
-        } catch (SQLException e) {
+            budgetsPanel.revalidate();
+            budgetsPanel.repaint();
+        }, e -> {
             e.printStackTrace();
+            budgetsPanel.removeAll();
+            budgetsPanel.revalidate();
+            budgetsPanel.repaint();
             JOptionPane.showMessageDialog(this, "Error loading budgets: " + e.getMessage());
-        }
-
-        budgetsPanel.revalidate();
-        budgetsPanel.repaint();
+        });
     }
 
-    private void checkBudgetsAfterTransaction(int categoryId, double amount) {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String query = "SELECT b.*, c.category_name FROM budgets b " +
-                    "JOIN categories c ON b.category_id = c.category_id " +
-                    "WHERE b.user_id = ? AND b.category_id = ?";
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            pstmt.setInt(1, currentUser.getUserId());
-            pstmt.setInt(2, categoryId);
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                double limit = rs.getDouble("monthly_limit");
-                double spent = rs.getDouble("spent_so_far") + amount;
-                String categoryName = rs.getString("category_name");
-                double percentage = (spent / limit) * 100;
-
-                String updateQuery = "UPDATE budgets SET spent_so_far = ? WHERE budget_id = ?";
-                PreparedStatement updateStmt = conn.prepareStatement(updateQuery);
-                updateStmt.setDouble(1, spent);
-                updateStmt.setInt(2, rs.getInt("budget_id"));
-                updateStmt.executeUpdate();
-
-                if (percentage >= 100) {
-                    JOptionPane.showMessageDialog(this,
-                            "⚠️ You've exceeded your " + categoryName + " budget!\n" +
-                                    "Budget: " + formatKSH(limit) + "\n" +
-                                    "Spent: " + formatKSH(spent) + "\n" +
-                                    "Overspent: " + formatKSH(spent - limit),
-                            "Budget Alert",
-                            JOptionPane.WARNING_MESSAGE);
-                } else if (percentage >= 90) {
-                    JOptionPane.showMessageDialog(this,
-                            "⚠️ You've used " + String.format("%.1f", percentage) +
-                                    "% of your " + categoryName + " budget\n" +
-                                    "Spent: " + formatKSH(spent) + " / " + formatKSH(limit),
-                            "Budget Warning",
-                            JOptionPane.INFORMATION_MESSAGE);
-                }
+    private void checkBudgetsAfterTransaction(String category) {
+        loader.load("ADD_TRANSACTION", () -> BudgetDAO.getBudget(currentUser.getUserId(), category), budget -> {
+            if (budget == null) {
+                return;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            long limit = budget.getMonthlyLimit();
+            long spent = budget.getSpentSoFar();
+            String categoryName = budget.getCategoryName();
+            double percentage = budget.getPercentage();
+
+            if (percentage >= 100) {
+                JOptionPane.showMessageDialog(this,
+                        "⚠️ You've exceeded your " + categoryName + " budget!\n" +
+                                "Budget: " + formatKSH(limit) + "\n" +
+                                "Spent: " + formatKSH(spent) + "\n" +
+                                "Overspent: " + formatKSH(spent - limit),
+                        "Budget Alert",
+                        JOptionPane.WARNING_MESSAGE);
+            } else if (percentage >= 90) {
+                JOptionPane.showMessageDialog(this,
+                        "⚠️ You've used " + String.format("%.1f", percentage) +
+                                "% of your " + categoryName + " budget\n" +
+                                "Spent: " + formatKSH(spent) + " / " + formatKSH(limit),
+                        "Budget Warning",
+                        JOptionPane.INFORMATION_MESSAGE);
+            }
+        }, Throwable::printStackTrace);
     }
 
     private JPanel createTransactionsPanel() {
@@ -649,15 +755,13 @@ public class MainFrame extends JFrame implements BalanceListener {
 
         panel.add(createSearchPanel(), BorderLayout.NORTH);
 
-        String[] columns = {"Date", "Type", "Amount", "Category", "Description", "Balance After"};
-        DefaultTableModel transModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        if (transactionsModel == null) {
+            transactionsModel = new TransactionTableModel(currentUser.getUserId());
+            addTransactionListener(transactionsModel);
+        }
 
-        JTable table = new JTable(transModel);
+        JTable table = new JTable(transactionsModel);
+        table.setDefaultRenderer(Long.class, new MoneyCellRenderer());
         table.setRowHeight(35);
         table.setFont(FontManager.getRegularFont(13));
         table.getTableHeader().setFont(FontManager.getBoldFont(13));
@@ -675,18 +779,22 @@ public class MainFrame extends JFrame implements BalanceListener {
         exportBtn.addActionListener(e -> exportToCSV());
         btnPanel.add(exportBtn);
 
+        JButton importBtn = Components.createRoundedButton("Import Statement", new Color(0, 150, 136), Color.WHITE);
+        importBtn.setFont(FontManager.getBoldFont(14));
+        importBtn.addActionListener(e -> importStatement());
+        btnPanel.add(importBtn);
+
         JButton exportReportBtn = Components.createRoundedButton("Export Report", new Color(156, 39, 176), Color.WHITE);
         exportReportBtn.setFont(FontManager.getBoldFont(14));
         exportReportBtn.addActionListener(e -> {
-            InsightsGenerator insightsGen = new InsightsGenerator(currentUser);
-            String report = insightsGen.generateAllInsights();
-            ReportExporter.exportToText(report, this);
+            loader.load("EXPORT", () -> InsightsCache.text(currentUser, storeView()),
+                    report -> ReportExporter.exportToText(report, this));
         });
         btnPanel.add(exportReportBtn);
 
         panel.add(btnPanel, BorderLayout.SOUTH);
 
-        loadAllTransactions(transModel);
+        transactionsModel.refresh();
 
         return panel;
     }
@@ -718,50 +826,78 @@ public class MainFrame extends JFrame implements BalanceListener {
         searchBtn.setFont(FontManager.getBoldFont(14));
         panel.add(searchBtn);
 
+        Runnable search = () -> applySearch(searchField.getText().trim(), (String) filterCombo.getSelectedItem());
+        searchBtn.addActionListener(e -> search.run());
+        searchField.addActionListener(e -> search.run());
+        filterCombo.addActionListener(e -> search.run());
+
         return panel;
     }
 
+    // Searches scan the in-memory store off the EDT; "All" with no text goes back to the paged history
+    private void applySearch(String text, String filter) {
+        if (text.isEmpty() && "All".equals(filter)) {
+            loader.cancelGroup("SEARCH");
+            transactionsModel.clearFilter();
+            return;
+        }
+
+        TransactionStore.View view = storeView();
+        if (view == null) {
+            JOptionPane.showMessageDialog(this,
+                    "Your transaction history is still loading. Please try again in a moment.",
+                    "Search",
+                    JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        byte type = TransactionStore.ANY_TYPE;
+        LocalDate from = null;
+        LocalDate to = null;
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        switch (filter) {
+            case "Deposits":
+                type = TransactionStore.DEPOSIT;
+                break;
+            case "Withdrawals":
+                type = TransactionStore.WITHDRAWAL;
+                break;
+            case "This Month":
+                from = monthStart;
+                to = monthStart.plusMonths(1);
+                break;
+            case "Last Month":
+                from = monthStart.minusMonths(1);
+                to = monthStart;
+                break;
+        }
+
+        byte matchType = type;
+        LocalDate fromDay = from;
+        LocalDate toDay = to;
+        loader.load("SEARCH", "SEARCH", () -> view.filter(matchType, fromDay, toDay, text),
+                rows -> transactionsModel.showFiltered(view, rows), Throwable::printStackTrace);
+    }
+
+    private void importStatement() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Import bank or M-Pesa statement (CSV)");
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("CSV Files", "csv"));
+
+        if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            // The change monitor picks up the new rows and balance like any other client's writes
+            StatementImporter.importWithProgress(currentUser.getUserId(), fileChooser.getSelectedFile(), this,
+                    this::markReportStale);
+        }
+    }
+
     private void exportToCSV() {
         JFileChooser fileChooser = new JFileChooser();
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
         fileChooser.setSelectedFile(new java.io.File("transactions_" + timestamp + ".csv"));
 
         if (fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
-            try (java.io.PrintWriter writer = new java.io.PrintWriter(fileChooser.getSelectedFile());
-                 Connection conn = DatabaseConnection.getConnection()) {
-
-                writer.println("Date,Type,Amount (KSH),Category,Description,Balance After (KSH)");
-
-                String query = "SELECT t.*, c.category_name FROM transactions t " +
-                        "JOIN categories c ON t.category_id = c.category_id " +
-                        "WHERE t.user_id = ? ORDER BY t.transaction_date DESC";
-                PreparedStatement pstmt = conn.prepareStatement(query);
-                pstmt.setInt(1, currentUser.getUserId());
-                ResultSet rs = pstmt.executeQuery();
-
-                while (rs.next()) {
-                    writer.println(
-                            rs.getTimestamp("transaction_date") + "," +
-                                    rs.getString("type") + "," +
-                                    rs.getDouble("amount") + "," +
-                                    rs.getString("category_name") + "," +
-                                    (rs.getString("description") != null ? rs.getString("description") : "") + "," +
-                                    rs.getDouble("balance_after")
-                    );
-                }
-
-                JOptionPane.showMessageDialog(this,
-                        "✅ Export successful!\nSaved to: " + fileChooser.getSelectedFile().getName(),
-                        "Export Complete",
-                        JOptionPane.INFORMATION_MESSAGE);
-
-            } catch (Exception e) {
-                e.printStackTrace();
-                JOptionPane.showMessageDialog(this,
-                        "❌ Export failed: " + e.getMessage(),
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            CsvExporter.exportWithProgress(currentUser.getUserId(), fileChooser.getSelectedFile(), this);
         }
     }
 
@@ -824,20 +960,12 @@ public class MainFrame extends JFrame implements BalanceListener {
             String description = descField.getText();
 
             try {
-                double amount = Double.parseDouble(amountStr);
-                addTransaction(type, category, amount, description);
-
-                amountField.setText("");
-                descField.setText("");
-
-                refreshData();
-
-                JOptionPane.showMessageDialog(this,
-                        "✅ Transaction added successfully!\n" +
-                                "Amount: " + formatKSH(amount) + "\n" +
-                                "New Balance: " + formatKSH(currentUser.getCurrentBalance()),
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
+                long amount = Money.parse(amountStr);
+                addButton.setEnabled(false);
+                addTransaction(type, category, amount, description, () -> {
+                    amountField.setText("");
+                    descField.setText("");
+                }, () -> addButton.setEnabled(true));
 
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this,
@@ -866,7 +994,7 @@ public class MainFrame extends JFrame implements BalanceListener {
         title.setForeground(new Color(25, 118, 210));
         panel.add(title, BorderLayout.NORTH);
 
-        JTextArea reportArea = new JTextArea();
+        reportArea = new JTextArea();
         reportArea.setFont(FontManager.getRegularFont(13));
         reportArea.setEditable(false);
         reportArea.setMargin(new Insets(20, 20, 20, 20));
@@ -895,9 +1023,8 @@ public class MainFrame extends JFrame implements BalanceListener {
         JButton exportHTMLBtn = Components.createRoundedButton("Export as HTML", new Color(255, 152, 0), Color.WHITE);
         exportHTMLBtn.setFont(FontManager.getBoldFont(14));
         exportHTMLBtn.addActionListener(e -> {
-            InsightsGenerator insightsGen = new InsightsGenerator(currentUser);
-            String htmlReport = generateHTMLWeeklyReport();
-            ReportExporter.exportToHTML(htmlReport, this);
+            loader.load("EXPORT", this::generateHTMLWeeklyReport,
+                    htmlReport -> ReportExporter.exportToHTML(htmlReport, this));
         });
         btnPanel.add(exportHTMLBtn);
 
@@ -906,139 +1033,61 @@ public class MainFrame extends JFrame implements BalanceListener {
         return panel;
     }
 
+    // Renders the report the card is showing, when it is still current, so exporting runs no queries
     private String generateHTMLWeeklyReport() {
-        StringBuilder html = new StringBuilder();
-        html.append("<!DOCTYPE html>\n");
-        html.append("<html><head>\n");
-        html.append("<meta charset='UTF-8'>\n");
-        html.append("<title>Weekly Spending Report</title>\n");
-        html.append("<style>\n");
-        html.append("@import url('https://fonts.googleapis.com/css2?family=Montserrat+Alternates:wght@400;700&display=swap');\n");
-        html.append("body { font-family: 'Montserrat Alternates', sans-serif; padding: 30px; background: #f5f5f5; }\n");
-        html.append(".container { max-width: 1000px; margin: 0 auto; background: white; padding: 30px; border-radius: 15px; box-shadow: 0 4px 6px rgba(0,0,0,0.1); }\n");
-        html.append("h1 { color: #1976d2; text-align: center; border-bottom: 3px solid #1976d2; padding-bottom: 15px; }\n");
-        html.append("h2 { color: #2e7d32; margin-top: 25px; }\n");
-        html.append(".stats { background: #e3f2fd; padding: 20px; border-radius: 10px; margin: 20px 0; }\n");
-        html.append(".amount { font-size: 1.2em; font-weight: bold; color: #1976d2; }\n");
-        html.append(".positive { color: #2e7d32; }\n");
-        html.append(".negative { color: #c62828; }\n");
-        html.append("table { width: 100%; border-collapse: collapse; margin: 20px 0; }\n");
-        html.append("th { background: #1976d2; color: white; padding: 12px; text-align: left; }\n");
-        html.append("td { padding: 10px; border-bottom: 1px solid #ddd; }\n");
-        html.append("tr:hover { background: #f5f5f5; }\n");
-        html.append(".footer { text-align: center; margin-top: 30px; color: #666; font-size: 0.9em; }\n");
-        html.append("</style>\n");
-        html.append("</head><body>\n");
-        html.append("<div class='container'>\n");
-
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusDays(7);
-
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            html.append("<h1>📊 Weekly Spending Report</h1>");
-            html.append("<p style='text-align: center;'>Period: ").append(startDate).append(" to ").append(endDate).append("</p>");
-
-            String query = "SELECT c.category_name, SUM(t.amount) as total " +
-                    "FROM transactions t " +
-                    "JOIN categories c ON t.category_id = c.category_id " +
-                    "WHERE t.user_id = ? AND t.type = 'WITHDRAWAL' " +
-                    "AND DATE(t.transaction_date) BETWEEN ? AND ? " +
-                    "GROUP BY c.category_name " +
-                    "ORDER BY total DESC";
-
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            pstmt.setInt(1, currentUser.getUserId());
-            pstmt.setString(2, startDate.toString());
-            pstmt.setString(3, endDate.toString());
-
-            ResultSet rs = pstmt.executeQuery();
-
-            double totalSpent = 0;
-            html.append("<h2>📈 Spending by Category</h2>");
-            html.append("<table>");
-            html.append("<tr><th>Category</th><th>Amount (").append(CURRENCY).append(")</th></tr>");
-
-            while (rs.next()) {
-                String category = rs.getString("category_name");
-                double amount = rs.getDouble("total");
-                totalSpent += amount;
-                html.append("<tr>");
-                html.append("<td>").append(category).append("</td>");
-                html.append("<td><span class='amount'>").append(formatKSH(amount)).append("</span></td>");
-                html.append("</tr>");
-            }
-
-            html.append("</table>");
-
-            html.append("<div class='stats'>");
-            html.append("<p><strong>Total Spent:</strong> <span class='amount negative'>")
-                    .append(formatKSH(totalSpent)).append("</span></p>");
-
-            String incomeQuery = "SELECT SUM(amount) as total FROM transactions " +
-                    "WHERE user_id = ? AND type = 'DEPOSIT' " +
-                    "AND DATE(transaction_date) BETWEEN ? AND ?";
-            PreparedStatement incStmt = conn.prepareStatement(incomeQuery);
-            incStmt.setInt(1, currentUser.getUserId());
-            incStmt.setString(2, startDate.toString());
-            incStmt.setString(3, endDate.toString());
-
-            ResultSet incRs = incStmt.executeQuery();
-            if (incRs.next()) {
-                double totalIncome = incRs.getDouble("total");
-                html.append("<p><strong>Total Income:</strong> <span class='amount positive'>")
-                        .append(formatKSH(totalIncome)).append("</span></p>");
-                html.append("<p><strong>Net Change:</strong> <span class='amount'>")
-                        .append(formatKSH(totalIncome - totalSpent)).append("</span></p>");
+        try {
+            WeeklyReport report = weeklyReport;
+            if (report == null || !report.isCurrent()) {
+                report = WeeklyReport.load(currentUser, storeView());
+                weeklyReport = report;
             }
-
-            html.append("</div>");
-
-            InsightsGenerator insightsGen = new InsightsGenerator(currentUser);
-            html.append(insightsGen.generateHTMLInsights());
-
+            return HTML_RENDERER.renderWeekly(report);
         } catch (SQLException ex) {
             ex.printStackTrace();
-            html.append("<p style='color: red;'>Error generating report</p>");
+            return HTML_RENDERER.renderError("Error generating report");
         }
-
-        html.append("<div class='footer'>");
-        html.append("Generated on: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy HH:mm:ss")));
-        html.append("<br>📌 Keep tracking your finances daily!");
-        html.append("</div>");
-
-        html.append("</div></body></html>");
-        return html.toString();
     }
 
     private void showDashboard() {
+        loader.cancelOtherGroups("DASHBOARD", CARD_GROUPS);
         CardLayout cl = (CardLayout) contentPanel.getLayout();
         cl.show(contentPanel, "DASHBOARD");
         refreshData();
     }
 
     private void showTransactions() {
+        loader.cancelOtherGroups("TRANSACTIONS", CARD_GROUPS);
         CardLayout cl = (CardLayout) contentPanel.getLayout();
-        contentPanel.remove(1);
-        contentPanel.add(createTransactionsPanel(), "TRANSACTIONS", 1);
+        if (!ensureCard("TRANSACTIONS")) {
+            transactionsModel.refresh();
+        }
         cl.show(contentPanel, "TRANSACTIONS");
     }
 
     private void showAddTransaction() {
+        loader.cancelOtherGroups("ADD_TRANSACTION", CARD_GROUPS);
         CardLayout cl = (CardLayout) contentPanel.getLayout();
+        ensureCard("ADD_TRANSACTION");
         cl.show(contentPanel, "ADD_TRANSACTION");
     }
 
     private void showBudget() {
+        loader.cancelOtherGroups("BUDGET", CARD_GROUPS);
         CardLayout cl = (CardLayout) contentPanel.getLayout();
-        contentPanel.remove(3);
-        contentPanel.add(createBudgetPanel(), "BUDGET", 3);
+        if (!ensureCard("BUDGET")) {
+            loadBudgets(budgetsPanel);
+        }
         cl.show(contentPanel, "BUDGET");
     }
 
     private void showReport() {
+        loader.cancelOtherGroups("REPORT", CARD_GROUPS);
         CardLayout cl = (CardLayout) contentPanel.getLayout();
-        contentPanel.remove(4);
-        contentPanel.add(createReportPanel(), "REPORT", 4);
+        // The report runs the full insights pass, so only regenerate it when the balance has moved
+        // since (or the last run never finished)
+        if (!ensureCard("REPORT") && reportStale) {
+            generateWeeklyReport(reportArea);
+        }
         cl.show(contentPanel, "REPORT");
     }
 
@@ -1055,8 +1104,7 @@ public class MainFrame extends JFrame implements BalanceListener {
         insightsArea.setEditable(false);
         insightsArea.setMargin(new Insets(20, 20, 20, 20));
 
-        InsightsGenerator insightsGen = new InsightsGenerator(currentUser);
-        insightsArea.setText(insightsGen.generateAllInsights());
+        loadInsights(insightsArea);
 
         JScrollPane scrollPane = new JScrollPane(insightsArea);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
@@ -1067,10 +1115,7 @@ public class MainFrame extends JFrame implements BalanceListener {
 
         JButton refreshBtn = Components.createRoundedButton("Refresh", new Color(25, 118, 210), Color.WHITE);
         refreshBtn.setFont(FontManager.getBoldFont(14));
-        refreshBtn.addActionListener(e -> {
-            InsightsGenerator gen = new InsightsGenerator(currentUser);
-            insightsArea.setText(gen.generateAllInsights());
-        });
+        refreshBtn.addActionListener(e -> loadInsights(insightsArea));
         btnPanel.add(refreshBtn);
 
         JButton exportBtn = Components.createRoundedButton("Export as Text", new Color(76, 175, 80), Color.WHITE);
@@ -1083,9 +1128,8 @@ public class MainFrame extends JFrame implements BalanceListener {
         JButton exportHTMLBtn = Components.createRoundedButton("Export as HTML", new Color(255, 152, 0), Color.WHITE);
         exportHTMLBtn.setFont(FontManager.getBoldFont(14));
         exportHTMLBtn.addActionListener(e -> {
-            InsightsGenerator gen = new InsightsGenerator(currentUser);
-            String htmlReport = gen.generateHTMLInsights();
-            ReportExporter.exportToHTML(htmlReport, this);
+            loader.load("EXPORT", () -> InsightsCache.html(currentUser, storeView()),
+                    htmlReport -> ReportExporter.exportToHTML(htmlReport, this));
         });
         btnPanel.add(exportHTMLBtn);
 
@@ -1100,6 +1144,12 @@ public class MainFrame extends JFrame implements BalanceListener {
         insightsDialog.setVisible(true);
     }
 
+    private void loadInsights(JTextArea insightsArea) {
+        insightsArea.setText("Generating insights...");
+        loader.load("INSIGHTS", "INSIGHTS", () -> InsightsCache.text(currentUser, storeView()),
+                insightsArea::setText, Throwable::printStackTrace);
+    }
+
     private void logout() {
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Are you sure you want to logout?",
@@ -1107,9 +1157,17 @@ public class MainFrame extends JFrame implements BalanceListener {
                 JOptionPane.YES_NO_OPTION,
                 JOptionPane.QUESTION_MESSAGE);
         if (confirm == JOptionPane.YES_OPTION) {
-            if (refreshTimer != null) {
-                refreshTimer.stop();
+            if (changeMonitor != null) {
+                changeMonitor.stop();
+                Toolkit.getDefaultToolkit().removeAWTEventListener(activityListener);
+            }
+            if (warmTimer != null) {
+                warmTimer.stop();
             }
+            if (transactionsModel != null) {
+                transactionsModel.dispose();
+            }
+            loader.shutdown();
             JOptionPane.showMessageDialog(this,
                     "Thank you for using Finance Tracker!\nSee you next time.",
                     "Goodbye",
@@ -1120,146 +1178,103 @@ public class MainFrame extends JFrame implements BalanceListener {
     }
 
     private void loadCategories(JComboBox<String> combo) {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String query = "SELECT category_name FROM categories WHERE category_type IN ('INCOME', 'EXPENSE')";
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery(query);
-
-            while (rs.next()) {
-                combo.addItem(rs.getString("category_name"));
+        loader.load("ADD_TRANSACTION", pipeline.categories(), names -> {
+            for (String name : names) {
+                combo.addItem(name);
             }
-        } catch (SQLException ex) {
-            ex.printStackTrace();
-        }
+        }, Throwable::printStackTrace);
     }
 
-    private void addTransaction(String type, String category, double amount, String description) {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            conn.setAutoCommit(false);
-
-            double newBalance;
-            if (type.equals("DEPOSIT")) {
-                newBalance = currentUser.getCurrentBalance() + amount;
-            } else {
-                if (amount > currentUser.getCurrentBalance()) {
-                    JOptionPane.showMessageDialog(this,
-                            "❌ Insufficient balance!\n" +
-                                    "Current: " + formatKSH(currentUser.getCurrentBalance()) + "\n" +
-                                    "Attempted: " + formatKSH(amount),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                    return;
-                }
-                newBalance = currentUser.getCurrentBalance() - amount;
-            }
+    private void addTransaction(String type, String category, long amount, String description,
+                                Runnable onSaved, Runnable onFinished) {
+        long balance = currentUser.getCurrentBalance();
+        if (type.equals("WITHDRAWAL") && amount > balance) {
+            JOptionPane.showMessageDialog(this,
+                    "❌ Insufficient balance!\n" +
+                            "Current: " + formatKSH(balance) + "\n" +
+                            "Attempted: " + formatKSH(amount),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            onFinished.run();
+            return;
+        }
 
-            String catQuery = "SELECT category_id FROM categories WHERE category_name = ?";
-            PreparedStatement catStmt = conn.prepareStatement(catQuery);
-            catStmt.setString(1, category);
-            ResultSet catRs = catStmt.executeQuery();
-            int categoryId = catRs.next() ? catRs.getInt("category_id") : 1;
-
-            String transQuery = "INSERT INTO transactions (user_id, category_id, amount, type, description, balance_after, transaction_date) VALUES (?, ?, ?, ?, ?, ?, NOW())";
-            PreparedStatement transStmt = conn.prepareStatement(transQuery);
-            transStmt.setInt(1, currentUser.getUserId());
-            transStmt.setInt(2, categoryId);
-            transStmt.setDouble(3, amount);
-            transStmt.setString(4, type);
-            transStmt.setString(5, description);
-            transStmt.setDouble(6, newBalance);
-            transStmt.executeUpdate();
-
-            String updateQuery = "UPDATE users SET current_balance = ? WHERE user_id = ?";
-            PreparedStatement updateStmt = conn.prepareStatement(updateQuery);
-            updateStmt.setDouble(1, newBalance);
-            updateStmt.setInt(2, currentUser.getUserId());
-            updateStmt.executeUpdate();
-
-            conn.commit();
-
-            currentUser.setCurrentBalance(newBalance);
+        // The in-memory check above is only a fast path; the DAO re-checks against the stored balance
+        loader.load("ADD_TRANSACTION", () -> TransactionDAO.addTransaction(
+                currentUser.getUserId(), type, category, amount, description), transaction -> {
+            currentUser.setCurrentBalance(transaction.getBalanceAfter());
+            changeMonitor.acknowledge(transaction.getTransactionId(), transaction.getBalanceAfter());
+            notifyTransactionAdded(transaction);
             notifyBalanceChanged();
 
+            onSaved.run();
+            onFinished.run();
+
+            JOptionPane.showMessageDialog(this,
+                    "✅ Transaction added successfully!\n" +
+                            "Amount: " + formatKSH(amount) + "\n" +
+                            "New Balance: " + formatKSH(currentUser.getCurrentBalance()),
+                    "Success",
+                    JOptionPane.INFORMATION_MESSAGE);
+
             if (type.equals("WITHDRAWAL")) {
-                checkBudgetsAfterTransaction(categoryId, amount);
+                checkBudgetsAfterTransaction(category);
+            }
+        }, ex -> {
+            onFinished.run();
+            if (ex instanceof InsufficientBalanceException) {
+                // Another client spent the money first; the change monitor will bring the balance up to date
+                JOptionPane.showMessageDialog(this,
+                        "❌ Insufficient balance!\n" +
+                                "Attempted: " + formatKSH(amount),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
             }
-
-        } catch (SQLException ex) {
             ex.printStackTrace();
             JOptionPane.showMessageDialog(this,
                     "❌ Error adding transaction: " + ex.getMessage(),
                     "Database Error",
                     JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
     private void loadRecentTransactions() {
-        tableModel.setRowCount(0);
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String query = "SELECT t.*, c.category_name FROM transactions t " +
-                    "JOIN categories c ON t.category_id = c.category_id " +
-                    "WHERE t.user_id = ? ORDER BY t.transaction_date DESC LIMIT 10";
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            pstmt.setInt(1, currentUser.getUserId());
-            ResultSet rs = pstmt.executeQuery();
-
-            while (rs.next()) {
-                Timestamp date = rs.getTimestamp("transaction_date");
-                String type = rs.getString("type");
-                double amount = rs.getDouble("amount");
-                String category = rs.getString("category_name");
-
-                tableModel.addRow(new Object[]{
-                        date.toString().substring(0, 16),
-                        type,
-                        formatKSH(amount),
-                        category
-                });
-            }
-        } catch (SQLException ex) {
-            ex.printStackTrace();
+        if (tableModel.getRowCount() == 0) {
+            tableModel.addRow(new Object[]{"Loading...", "", "", ""});
         }
+        loader.load("DASHBOARD", "RECENT_TRANSACTIONS", pipeline.recentTransactions(), transactions -> {
+            tableModel.setRowCount(0);
+            for (Transaction t : transactions) {
+                tableModel.addRow(recentRow(t));
+            }
+        }, e -> {
+            e.printStackTrace();
+            tableModel.setRowCount(0);
+        });
     }
 
-    private void loadAllTransactions(DefaultTableModel model) {
-        model.setRowCount(0);
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String query = "SELECT t.*, c.category_name FROM transactions t " +
-                    "JOIN categories c ON t.category_id = c.category_id " +
-                    "WHERE t.user_id = ? ORDER BY t.transaction_date DESC";
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            pstmt.setInt(1, currentUser.getUserId());
-            ResultSet rs = pstmt.executeQuery();
-
-            while (rs.next()) {
-                Timestamp date = rs.getTimestamp("transaction_date");
-                String type = rs.getString("type");
-                double amount = rs.getDouble("amount");
-                String category = rs.getString("category_name");
-                String description = rs.getString("description");
-                double balanceAfter = rs.getDouble("balance_after");
-
-                model.addRow(new Object[]{
-                        date.toString().substring(0, 16),
-                        type,
-                        formatKSH(amount),
-                        category,
-                        description != null ? description : "",
-                        formatKSH(balanceAfter)
-                });
-            }
-        } catch (SQLException ex) {
-            ex.printStackTrace();
+    // New rows go on top; the oldest falls off so the table keeps its fixed length
+    private void prependRecentTransaction(Transaction t) {
+        tableModel.insertRow(0, recentRow(t));
+        while (tableModel.getRowCount() > DashboardPipeline.RECENT_LIMIT) {
+            tableModel.removeRow(tableModel.getRowCount() - 1);
         }
     }
 
-    private void refreshRecentTransactions() {
-        loadRecentTransactions();
+    private Object[] recentRow(Transaction t) {
+        return new Object[]{
+                t.getDate().toString().substring(0, 16),
+                t.getType(),
+                t.getAmount(),
+                t.getCategory()
+        };
     }
 
     private void refreshData() {
         updateBalance();
         loadRecentTransactions();
+        loadQuickStats();
     }
 
     private void updateBalance() {
@@ -1268,69 +1283,27 @@ public class MainFrame extends JFrame implements BalanceListener {
         }
     }
 
-    private void generateWeeklyReport(JTextArea reportArea) {
-        StringBuilder report = new StringBuilder();
-        report.append("                    WEEKLY SPENDING REPORT                 \n");
-
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusDays(7);
-
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String query = "SELECT c.category_name, SUM(t.amount) as total " +
-                    "FROM transactions t " +
-                    "JOIN categories c ON t.category_id = c.category_id " +
-                    "WHERE t.user_id = ? AND t.type = 'WITHDRAWAL' " +
-                    "AND DATE(t.transaction_date) BETWEEN ? AND ? " +
-                    "GROUP BY c.category_name " +
-                    "ORDER BY total DESC";
-
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            pstmt.setInt(1, currentUser.getUserId());
-            pstmt.setString(2, startDate.toString());
-            pstmt.setString(3, endDate.toString());
-
-            ResultSet rs = pstmt.executeQuery();
-
-            double totalSpent = 0;
-            report.append("Period: ").append(startDate).append(" to ").append(endDate).append("\n\n");
-            report.append("SPENDING BY CATEGORY\n");
-            report.append("──────────────────────────────────────────────────────\n");
-
-            while (rs.next()) {
-                String category = rs.getString("category_name");
-                double amount = rs.getDouble("total");
-                totalSpent += amount;
-                report.append(String.format("  %-20s %s\n", category, formatKSH(amount)));
-            }
-
-            report.append("\n");
-            report.append("──────────────────────────────────────────────────────\n");
-            report.append(String.format("  %-20s %s\n", "TOTAL SPENT:", formatKSH(totalSpent)));
-
-            String incomeQuery = "SELECT SUM(amount) as total FROM transactions " +
-                    "WHERE user_id = ? AND type = 'DEPOSIT' " +
-                    "AND DATE(transaction_date) BETWEEN ? AND ?";
-            PreparedStatement incStmt = conn.prepareStatement(incomeQuery);
-            incStmt.setInt(1, currentUser.getUserId());
-            incStmt.setString(2, startDate.toString());
-            incStmt.setString(3, endDate.toString());
-
-            ResultSet incRs = incStmt.executeQuery();
-            if (incRs.next()) {
-                double totalIncome = incRs.getDouble("total");
-                report.append(String.format("  %-20s %s\n", "TOTAL INCOME:", formatKSH(totalIncome)));
-                report.append(String.format("  %-20s %s\n", "NET CHANGE:", formatKSH(totalIncome - totalSpent)));
-            }
+    private void markReportStale() {
+        reportStale = true;
+        weeklyReport = null;
+    }
 
-            report.append("\n");
-            InsightsGenerator insightsGen = new InsightsGenerator(currentUser);
-            report.append(insightsGen.generateAllInsights());
+    private void generateWeeklyReport(JTextArea reportArea) {
+        reportArea.setText("Generating report...");
+        loader.load("REPORT", "WEEKLY_REPORT", this::buildWeeklyReport, report -> {
+            reportStale = false;
+            reportArea.setText(report);
+        }, Throwable::printStackTrace);
+    }
 
+    private String buildWeeklyReport() {
+        try {
+            WeeklyReport report = WeeklyReport.load(currentUser, storeView());
+            weeklyReport = report;
+            return TEXT_RENDERER.renderWeekly(report);
         } catch (SQLException ex) {
             ex.printStackTrace();
-            report.append("Error generating report: " + ex.getMessage());
+            return TEXT_RENDERER.renderError("Error generating report: " + ex.getMessage());
         }
-
-        reportArea.setText(report.toString());
     }
 }
\ No newline at end of file
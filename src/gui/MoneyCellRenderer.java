@@ -0,0 +1,29 @@
+package gui;
+
+import utils.MoneyFormat;
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+
+// Renders a Long minor-unit amount as KSH text when the cell is painted, so table models can
+// hold raw values and only visible cells are ever formatted. Register it for Long.class.
+public class MoneyCellRenderer extends DefaultTableCellRenderer {
+    private final StringBuilder text = new StringBuilder(32);
+
+    public MoneyCellRenderer() {
+        this(SwingConstants.RIGHT);
+    }
+
+    public MoneyCellRenderer(int alignment) {
+        setHorizontalAlignment(alignment);
+    }
+
+    @Override
+    protected void setValue(Object value) {
+        if (value instanceof Long) {
+            text.setLength(0);
+            setText(MoneyFormat.appendKSH(text, (Long) value).toString());
+        } else {
+            super.setValue(value);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package gui;
+
+import Database.DatabaseConnection;
+import listeners.TransactionListener;
+import models.Money;
+import models.Transaction;
+import models.TransactionStore;
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Table model for the full transaction history. Rows are fetched a page at a time as the
+// table asks for them, using keyset pagination on (transaction_date, transaction_id).
+// Transactions committed after the snapshot are inserted above the pages as they are published.
+// While a search is shown, rows come from the in-memory TransactionStore instead.
+public class TransactionTableModel extends AbstractTableModel implements TransactionListener {
+    private static final String[] COLUMNS = {"Date", "Type", "Amount", "Category", "Description", "Balance After"};
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PAGES = 20;
+
+    private final int userId;
+    private final ExecutorService loader;
+
+    // Only touched on the EDT
+    private final Map<Integer, List<Transaction>> pages = new LinkedHashMap<Integer, List<Transaction>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Transaction>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    private final Set<Integer> pending = new HashSet<>();
+    // Rows newer than the snapshot, newest first; pages never contain them
+    private final List<Transaction> head = new ArrayList<>();
+    private int rowCount = 0;
+    private int generation = 0;
+
+    // Last key of each page seen so far, so later pages can seek instead of scanning with OFFSET
+    private final ConcurrentSkipListMap<Integer, PageKey> boundaries = new ConcurrentSkipListMap<>();
+    private volatile int snapshotMaxId = 0;
+
+    // Set while search results are shown: row r is store row filteredRows[r]
+    private TransactionStore.View filteredView;
+    private int[] filteredRows;
+
+    public TransactionTableModel(int userId) {
+        this.userId = userId;
+        this.loader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "transaction-page-loader");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Drops every cached page and re-reads the row count; rows then load as they are displayed
+    public void refresh() {
+        generation++;
+        final int gen = generation;
+        pages.clear();
+        pending.clear();
+        boundaries.clear();
+
+        loader.submit(() -> {
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                String query = "SELECT COUNT(*) as total, COALESCE(MAX(transaction_id), 0) as max_id " +
+                        "FROM transactions WHERE user_id = ?";
+                PreparedStatement pstmt = conn.prepareStatement(query);
+                pstmt.setInt(1, userId);
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    int total = rs.getInt("total");
+                    int maxId = rs.getInt("max_id");
+                    // Set here, not on the EDT, so page loads queued behind this task already see the new snapshot
+                    snapshotMaxId = maxId;
+                    SwingUtilities.invokeLater(() -> {
+                        if (gen != generation) return;
+                        head.removeIf(t -> t.getTransactionId() <= maxId);
+                        rowCount = total + head.size();
+                        fireTableDataChanged();
+                    });
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    // Shows the given store rows (newest first) in place of the full history
+    public void showFiltered(TransactionStore.View view, int[] rows) {
+        filteredView = view;
+        filteredRows = rows;
+        fireTableDataChanged();
+    }
+
+    public void clearFilter() {
+        if (filteredRows == null) return;
+        filteredView = null;
+        filteredRows = null;
+        fireTableDataChanged();
+    }
+
+    public boolean isFiltered() {
+        return filteredRows != null;
+    }
+
+    public void dispose() {
+        loader.shutdownNow();
+    }
+
+    @Override
+    public void onTransactionAdded(Transaction transaction) {
+        int id = transaction.getTransactionId();
+        if (id <= snapshotMaxId) {
+            return;
+        }
+        for (Transaction t : head) {
+            if (t.getTransactionId() == id) return;
+        }
+        head.add(0, transaction);
+        rowCount++;
+        if (filteredRows == null) {
+            fireTableRowsInserted(0, 0);
+        }
+    }
+
+    @Override
+    public void onTransactionsReloaded() {
+        refresh();
+    }
+
+    @Override
+    public int getRowCount() {
+        return filteredRows != null ? filteredRows.length : rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    // Amount columns hold raw minor units; MoneyCellRenderer formats them when painted
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 2 || column == 5 ? Long.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (filteredRows != null) {
+            return format(filteredView, filteredRows[row], column);
+        }
+        if (row < head.size()) {
+            return format(head.get(row), column);
+        }
+
+        int page = (row - head.size()) / PAGE_SIZE;
+        List<Transaction> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return column == 0 ? "Loading..." : "";
+        }
+
+        // Keep one page ahead of the viewport
+        if (!pages.containsKey(page + 1)) {
+            requestPage(page + 1);
+        }
+
+        int index = (row - head.size()) % PAGE_SIZE;
+        if (index >= rows.size()) {
+            return "";
+        }
+        return format(rows.get(index), column);
+    }
+
+    private Object format(Transaction t, int column) {
+        switch (column) {
+            case 0: return t.getDate().toString().substring(0, 16);
+            case 1: return t.getType();
+            case 2: return t.getAmount();
+            case 3: return t.getCategory();
+            case 4: return t.getDescription() != null ? t.getDescription() : "";
+            case 5: return t.getBalanceAfter();
+            default: return "";
+        }
+    }
+
+    // Reads the store columns directly; no Transaction is built for a painted cell
+    private Object format(TransactionStore.View view, int i, int column) {
+        switch (column) {
+            case 0: return view.getDateTime(i).toString().substring(0, 16).replace('T', ' ');
+            case 1: return view.getType(i) == TransactionStore.DEPOSIT ? "DEPOSIT" : "WITHDRAWAL";
+            case 2: return view.getAmountMinor(i);
+            case 3: return view.getCategoryName(view.getCategoryCode(i));
+            case 4: String description = view.getDescription(i);
+                return description != null ? description : "";
+            case 5: return view.getBalanceAfterMinor(i);
+            default: return "";
+        }
+    }
+
+    private void requestPage(int page) {
+        if (page * PAGE_SIZE >= rowCount - head.size() || pending.contains(page)) {
+            return;
+        }
+        pending.add(page);
+        final int gen = generation;
+
+        loader.submit(() -> {
+            List<Transaction> rows = fetchPage(page);
+            SwingUtilities.invokeLater(() -> {
+                if (gen != generation) return;
+                pending.remove(page);
+                if (rows == null) return;
+
+                pages.put(page, rows);
+                if (rows.size() == PAGE_SIZE) {
+                    Transaction last = rows.get(rows.size() - 1);
+                    boundaries.put(page, new PageKey(last.getDate(), last.getTransactionId()));
+                }
+                int first = head.size() + page * PAGE_SIZE;
+                int lastRow = Math.min(first + PAGE_SIZE, rowCount) - 1;
+                if (lastRow >= first && filteredRows == null) {
+                    fireTableRowsUpdated(first, lastRow);
+                }
+            });
+        });
+    }
+
+    // Parameters: user id, snapshot max id, then (seek only) date, date, id after which to start,
+    // then limit and offset. Public so TestIndexes can EXPLAIN the exact query.
+    public static String pageQuery(boolean seek) {
+        return "SELECT t.transaction_id, t.transaction_date, t.type, t.amount, t.description, t.balance_after, " +
+                "c.category_name FROM transactions t " +
+                "JOIN categories c ON t.category_id = c.category_id " +
+                "WHERE t.user_id = ? AND t.transaction_id <= ? " +
+                (seek ? "AND (t.transaction_date < ? OR (t.transaction_date = ? AND t.transaction_id < ?)) " : "") +
+                "ORDER BY t.transaction_date DESC, t.transaction_id DESC " +
+                "LIMIT ? OFFSET ?";
+    }
+
+    private List<Transaction> fetchPage(int page) {
+        // Seek from the nearest page whose last key we know; skip whole pages only when we jumped ahead
+        Map.Entry<Integer, PageKey> anchor = boundaries.floorEntry(page - 1);
+        PageKey after = anchor != null ? anchor.getValue() : null;
+        int offset = anchor != null ? (page - anchor.getKey() - 1) * PAGE_SIZE : page * PAGE_SIZE;
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            PreparedStatement pstmt = conn.prepareStatement(pageQuery(after != null));
+            int i = 1;
+            pstmt.setInt(i++, userId);
+            pstmt.setInt(i++, snapshotMaxId);
+            if (after != null) {
+                pstmt.setTimestamp(i++, after.date);
+                pstmt.setTimestamp(i++, after.date);
+                pstmt.setInt(i++, after.transactionId);
+            }
+            pstmt.setInt(i++, PAGE_SIZE);
+            pstmt.setInt(i, offset);
+            ResultSet rs = pstmt.executeQuery();
+
+            List<Transaction> rows = new ArrayList<>(PAGE_SIZE);
+            while (rs.next()) {
+                rows.add(new Transaction(
+                        rs.getInt("transaction_id"),
+                        rs.getString("type"),
+                        Money.read(rs, "amount"),
+                        rs.getString("category_name"),
+                        rs.getString("description"),
+                        rs.getTimestamp("transaction_date"),
+                        Money.read(rs, "balance_after")
+                ));
+            }
+            return rows;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static class PageKey {
+        private final Timestamp date;
+        private final int transactionId;
+
+        PageKey(Timestamp date, int transactionId) {
+            this.date = date;
+            this.transactionId = transactionId;
+        }
+    }
+}
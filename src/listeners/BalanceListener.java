@@ -4,4 +4,10 @@ import models.User;
 
 public interface BalanceListener {
     void onBalanceChanged(User user);
+
+    // delta is how far the balance moved since it was last seen, in minor units; 0 when only the
+    // transaction list changed
+    default void onBalanceChanged(User user, long delta) {
+        onBalanceChanged(user);
+    }
 }
\ No newline at end of file
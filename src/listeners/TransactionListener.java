@@ -0,0 +1,12 @@
+package listeners;
+
+import models.Transaction;
+
+public interface TransactionListener {
+    // Called on the EDT for each committed transaction, oldest first
+    void onTransactionAdded(Transaction transaction);
+
+    // Too many rows changed at once to replay them one by one; reload instead
+    default void onTransactionsReloaded() {
+    }
+}
@@ -5,11 +5,12 @@ public class Budget {
     private int userId;
     private int categoryId;
     private String categoryName;
-    private double monthlyLimit;
-    private double spentSoFar;
+    // Minor units, see Money
+    private long monthlyLimit;
+    private long spentSoFar;
 
     public Budget(int budgetId, int userId, int categoryId, String categoryName,
-                  double monthlyLimit, double spentSoFar) {
+                  long monthlyLimit, long spentSoFar) {
         this.budgetId = budgetId;
         this.userId = userId;
         this.categoryId = categoryId;
@@ -23,16 +24,15 @@ public class Budget {
     public int getUserId() { return userId; }
     public int getCategoryId() { return categoryId; }
     public String getCategoryName() { return categoryName; }
-    public double getMonthlyLimit() { return monthlyLimit; }
-    public double getSpentSoFar() { return spentSoFar; }
-    public void setSpentSoFar(double spentSoFar) { this.spentSoFar = spentSoFar; }
+    public long getMonthlyLimit() { return monthlyLimit; }
+    public long getSpentSoFar() { return spentSoFar; }
+    public void setSpentSoFar(long spentSoFar) { this.spentSoFar = spentSoFar; }
 
     public double getPercentage() {
-        if (monthlyLimit == 0) return 0;
-        return (spentSoFar / monthlyLimit) * 100;
+        return Money.percent(spentSoFar, monthlyLimit);
     }
 
-    public double getRemaining() {
+    public long getRemaining() {
         return monthlyLimit - spentSoFar;
     }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package models;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Money is carried as a long count of minor units (cents): KSH 1,234.50 is 123450. Sums are
+// exact, arrays of amounts are plain long[], and nothing here allocates except toDecimal
+// and the String helpers. The database columns are DECIMAL(.., 2) and are bound as BigDecimal.
+public final class Money {
+    public static final int SCALE = 2;
+    public static final long UNIT = 100;
+
+    private Money() {
+    }
+
+    public static long ofMajor(long major) {
+        return Math.multiplyExact(major, UNIT);
+    }
+
+    // For values that only exist as doubles (ratios, Swing spinners); rounds half away from zero
+    public static long ofMajor(double major) {
+        return Math.round(major * UNIT);
+    }
+
+    public static double toMajor(long minor) {
+        return minor / (double) UNIT;
+    }
+
+    public static long fromDecimal(BigDecimal value) {
+        return value == null ? 0 : value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    // SQL NULL (e.g. SUM over no rows) reads as zero
+    public static long read(ResultSet rs, String column) throws SQLException {
+        return fromDecimal(rs.getBigDecimal(column));
+    }
+
+    public static long read(ResultSet rs, int column) throws SQLException {
+        return fromDecimal(rs.getBigDecimal(column));
+    }
+
+    public static void bind(PreparedStatement pstmt, int index, long minor) throws SQLException {
+        pstmt.setBigDecimal(index, toDecimal(minor));
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    // A simple indexed loop over a primitive array, which the JIT can unroll and vectorise
+    public static long sum(long[] amounts, int from, int to) {
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            total += amounts[i];
+        }
+        return total;
+    }
+
+    // Scales an amount by a factor (e.g. 0.3 of the balance), rounded to the nearest minor unit
+    public static long times(long minor, double factor) {
+        return Math.round(minor * factor);
+    }
+
+    // Integer average, rounded half up; 0 when there is nothing to average
+    public static long average(long total, long count) {
+        if (count == 0) return 0;
+        long half = count / 2;
+        return total >= 0 ? (total + half) / count : (total - half) / count;
+    }
+
+    // part as a percentage of whole; 0 when whole is 0
+    public static double percent(long part, long whole) {
+        return whole == 0 ? 0 : part * 100.0 / whole;
+    }
+
+    // Parses user input such as "1234", "1,234.5" or "-20.75" without going through double.
+    // Throws NumberFormatException for anything else, including more than two decimals.
+    public static long parse(CharSequence text) {
+        int i = 0;
+        int end = text.length();
+        while (i < end && Character.isWhitespace(text.charAt(i))) i++;
+        while (end > i && Character.isWhitespace(text.charAt(end - 1))) end--;
+
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+
+        long major = 0;
+        long fraction = 0;
+        int decimals = -1;
+        boolean digits = false;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+                if (decimals < 0) {
+                    major = Math.addExact(Math.multiplyExact(major, 10), c - '0');
+                } else if (++decimals <= SCALE) {
+                    fraction = fraction * 10 + (c - '0');
+                } else {
+                    throw new NumberFormatException("More than " + SCALE + " decimal places: " + text);
+                }
+            } else if (c == ',' && decimals < 0) {
+                continue;
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                throw new NumberFormatException("Not an amount: " + text);
+            }
+        }
+        if (!digits) {
+            throw new NumberFormatException("Not an amount: " + text);
+        }
+        for (int d = Math.max(decimals, 0); d < SCALE; d++) {
+            fraction *= 10;
+        }
+
+        long minor = Math.addExact(Math.multiplyExact(major, UNIT), fraction);
+        return negative ? -minor : minor;
+    }
+
+    // Appends e.g. "-1234.05"; no grouping, no currency
+    public static StringBuilder appendPlain(StringBuilder out, long minor) {
+        if (minor < 0) {
+            out.append('-');
+        }
+        long abs = Math.abs(minor);
+        long cents = abs % UNIT;
+        out.append(abs / UNIT).append('.');
+        if (cents < 10) {
+            out.append('0');
+        }
+        return out.append(cents);
+    }
+
+    public static String toPlainString(long minor) {
+        return appendPlain(new StringBuilder(24), minor).toString();
+    }
+}
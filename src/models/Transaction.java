@@ -5,14 +5,15 @@ import java.sql.Timestamp;
 public class Transaction {
     private int transactionId;
     private String type;
-    private double amount;
+    // Minor units, see Money
+    private long amount;
     private String category;
     private String description;
     private Timestamp date;
-    private double balanceAfter;
+    private long balanceAfter;
 
-    public Transaction(int transactionId, String type, double amount, String category,
-                       String description, Timestamp date, double balanceAfter) {
+    public Transaction(int transactionId, String type, long amount, String category,
+                       String description, Timestamp date, long balanceAfter) {
         this.transactionId = transactionId;
         this.type = type;
         this.amount = amount;
@@ -25,9 +26,9 @@ public class Transaction {
     // Getters
     public int getTransactionId() { return transactionId; }
     public String getType() { return type; }
-    public double getAmount() { return amount; }
+    public long getAmount() { return amount; }
     public String getCategory() { return category; }
     public String getDescription() { return description; }
     public Timestamp getDate() { return date; }
-    public double getBalanceAfter() { return balanceAfter; }
+    public long getBalanceAfter() { return balanceAfter; }
 }
\ No newline at end of file
@@ -0,0 +1,309 @@
+package models;
+
+import Database.CategoryRegistry;
+import Database.DatabaseConnection;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// One user's full transaction history held column by column: primitive arrays for dates,
+// amounts (Money minor units) and types, a dictionary code per category, and one shared char pool
+// for descriptions. Rows are kept oldest first. Loaded once at login and appended to as
+// transactions are published, so views can scan it in tight loops instead of querying.
+//
+// There is one writer (the EDT). Readers take a View, which is an immutable snapshot: appends
+// only write past the end of the published rows and then publish a new View.
+public class TransactionStore {
+    public static final byte DEPOSIT = 0;
+    public static final byte WITHDRAWAL = 1;
+    public static final byte ANY_TYPE = -1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int userId;
+
+    // Writer-side columns; readers only ever see them through a View
+    private int size = 0;
+    private int maxTransactionId = 0;
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private int[] secondsOfDay = new int[INITIAL_CAPACITY];
+    private long[] amounts = new long[INITIAL_CAPACITY];
+    private long[] balances = new long[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] categories = new int[INITIAL_CAPACITY];
+    // Description i is descPool[descStart[i] .. descStart[i + 1])
+    private int[] descStart = new int[INITIAL_CAPACITY + 1];
+    private char[] descPool = new char[INITIAL_CAPACITY * 16];
+    private String[] categoryNames = new String[0];
+    private final Map<String, Integer> categoryCodes = new HashMap<>();
+
+    private volatile View view;
+
+    public TransactionStore(int userId) {
+        this.userId = userId;
+        publish();
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public View view() {
+        return view;
+    }
+
+    // Streams the user's history oldest first; the driver hands over one row at a time
+    public static TransactionStore load(int userId) throws SQLException {
+        TransactionStore store = new TransactionStore(userId);
+        CategoryRegistry.Snapshot categories = CategoryRegistry.get();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            // Category names come from the registry, so the scan needs no join
+            String query = "SELECT transaction_id, transaction_date, type, amount, balance_after, " +
+                    "description, category_id FROM transactions " +
+                    "WHERE user_id = ? ORDER BY transaction_date, transaction_id";
+            PreparedStatement pstmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            pstmt.setInt(1, userId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    store.appendRow(rs.getInt(1),
+                            rs.getTimestamp(2).toLocalDateTime(),
+                            "DEPOSIT".equals(rs.getString(3)) ? DEPOSIT : WITHDRAWAL,
+                            Money.read(rs, 4),
+                            Money.read(rs, 5),
+                            categories.nameOf(rs.getInt(7)),
+                            rs.getString(6));
+                }
+            }
+        }
+        store.publish();
+        return store;
+    }
+
+    // Adds a published transaction; call on the EDT. Rows already held are ignored. Returns false
+    // if the row is dated before the newest row, since rows must stay in date order: the caller
+    // should load the store again.
+    public boolean append(Transaction t) {
+        if (t.getTransactionId() <= maxTransactionId) {
+            return true;
+        }
+        LocalDateTime date = t.getDate().toLocalDateTime();
+        if (size > 0) {
+            int day = (int) date.toLocalDate().toEpochDay();
+            int last = size - 1;
+            if (day < epochDays[last] || (day == epochDays[last] && date.toLocalTime().toSecondOfDay() < secondsOfDay[last])) {
+                return false;
+            }
+        }
+        appendRow(t.getTransactionId(),
+                date,
+                "DEPOSIT".equals(t.getType()) ? DEPOSIT : WITHDRAWAL,
+                t.getAmount(),
+                t.getBalanceAfter(),
+                t.getCategory(),
+                t.getDescription());
+        publish();
+        return true;
+    }
+
+    private void appendRow(int id, LocalDateTime date, byte type, long amountMinor, long balanceMinor,
+                           String category, String description) {
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = id;
+        maxTransactionId = Math.max(maxTransactionId, id);
+        epochDays[size] = (int) date.toLocalDate().toEpochDay();
+        secondsOfDay[size] = date.toLocalTime().toSecondOfDay();
+        types[size] = type;
+        amounts[size] = amountMinor;
+        balances[size] = balanceMinor;
+        categories[size] = categoryCode(category);
+
+        int start = descStart[size];
+        int length = description != null ? description.length() : 0;
+        if (start + length > descPool.length) {
+            descPool = Arrays.copyOf(descPool, Math.max(descPool.length * 2, start + length));
+        }
+        if (length > 0) {
+            description.getChars(0, length, descPool, start);
+        }
+        descStart[size + 1] = start + length;
+        size++;
+    }
+
+    // New arrays, so Views holding the old ones stay valid
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        secondsOfDay = Arrays.copyOf(secondsOfDay, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        balances = Arrays.copyOf(balances, capacity);
+        types = Arrays.copyOf(types, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        descStart = Arrays.copyOf(descStart, capacity + 1);
+    }
+
+    private int categoryCode(String name) {
+        String key = name != null ? name : "";
+        Integer code = categoryCodes.get(key);
+        if (code == null) {
+            code = categoryNames.length;
+            categoryCodes.put(key, code);
+            categoryNames = Arrays.copyOf(categoryNames, code + 1);
+            categoryNames[code] = key;
+        }
+        return code;
+    }
+
+    private void publish() {
+        view = new View(size, maxTransactionId, ids, epochDays, secondsOfDay, amounts, balances, types, categories,
+                descStart, descPool, categoryNames);
+    }
+
+    // A fixed-size snapshot of the store; safe to scan from any thread
+    public static class View {
+        private final int size;
+        private final int maxTransactionId;
+        private final int[] ids;
+        private final int[] epochDays;
+        private final int[] secondsOfDay;
+        private final long[] amounts;
+        private final long[] balances;
+        private final byte[] types;
+        private final int[] categories;
+        private final int[] descStart;
+        private final char[] descPool;
+        private final String[] categoryNames;
+
+        View(int size, int maxTransactionId, int[] ids, int[] epochDays, int[] secondsOfDay, long[] amounts, long[] balances,
+             byte[] types, int[] categories, int[] descStart, char[] descPool, String[] categoryNames) {
+            this.size = size;
+            this.maxTransactionId = maxTransactionId;
+            this.ids = ids;
+            this.epochDays = epochDays;
+            this.secondsOfDay = secondsOfDay;
+            this.amounts = amounts;
+            this.balances = balances;
+            this.types = types;
+            this.categories = categories;
+            this.descStart = descStart;
+            this.descPool = descPool;
+            this.categoryNames = categoryNames;
+        }
+
+        public int size() { return size; }
+        // Highest transaction id held, or 0 if empty; rows are in date order, so not necessarily the last
+        public int getMaxTransactionId() { return maxTransactionId; }
+        public int getTransactionId(int i) { return ids[i]; }
+        public int getEpochDay(int i) { return epochDays[i]; }
+        public long getAmountMinor(int i) { return amounts[i]; }
+        public long getBalanceAfterMinor(int i) { return balances[i]; }
+        public byte getType(int i) { return types[i]; }
+        public int getCategoryCode(int i) { return categories[i]; }
+        public int getCategoryCount() { return categoryNames.length; }
+        public String getCategoryName(int code) { return categoryNames[code]; }
+
+        public LocalDateTime getDateTime(int i) {
+            return LocalDateTime.ofEpochSecond(epochDays[i] * 86_400L + secondsOfDay[i], 0, ZoneOffset.UTC);
+        }
+
+        public String getDescription(int i) {
+            int start = descStart[i];
+            int end = descStart[i + 1];
+            return end > start ? new String(descPool, start, end - start) : null;
+        }
+
+        public Transaction toTransaction(int i) {
+            return new Transaction(ids[i], types[i] == DEPOSIT ? "DEPOSIT" : "WITHDRAWAL",
+                    amounts[i], categoryNames[categories[i]], getDescription(i),
+                    Timestamp.valueOf(getDateTime(i)), balances[i]);
+        }
+
+        // Total of one type over [fromDay, toDay), in minor units
+        public long sum(byte type, LocalDate fromDay, LocalDate toDay) {
+            int from = (int) fromDay.toEpochDay();
+            int to = (int) toDay.toEpochDay();
+            long total = 0;
+            for (int i = firstOnOrAfter(from); i < size && epochDays[i] < to; i++) {
+                if (types[i] == type) {
+                    total += amounts[i];
+                }
+            }
+            return total;
+        }
+
+        // Totals of one type over [fromDay, toDay), indexed by category code
+        public long[] sumByCategory(byte type, LocalDate fromDay, LocalDate toDay) {
+            int from = (int) fromDay.toEpochDay();
+            int to = (int) toDay.toEpochDay();
+            long[] totals = new long[categoryNames.length];
+            for (int i = firstOnOrAfter(from); i < size && epochDays[i] < to; i++) {
+                if (types[i] == type) {
+                    totals[categories[i]] += amounts[i];
+                }
+            }
+            return totals;
+        }
+
+        // Row indexes matching every given condition, newest first. type may be ANY_TYPE, either day
+        // may be null for an open end, and text (matched case-insensitively against description and
+        // category) may be empty.
+        public int[] filter(byte type, LocalDate fromDay, LocalDate toDay, String text) {
+            int from = fromDay != null ? (int) fromDay.toEpochDay() : Integer.MIN_VALUE;
+            int to = toDay != null ? (int) toDay.toEpochDay() : Integer.MAX_VALUE;
+            char[] needle = text != null ? text.toLowerCase().toCharArray() : new char[0];
+
+            // Category names are matched once per category, not once per row
+            boolean[] categoryMatches = new boolean[categoryNames.length];
+            for (int c = 0; c < categoryNames.length; c++) {
+                categoryMatches[c] = needle.length == 0 || categoryNames[c].toLowerCase().contains(text.toLowerCase());
+            }
+
+            int[] matches = new int[16];
+            int count = 0;
+            int lowest = fromDay != null ? firstOnOrAfter(from) : 0;
+            for (int i = size - 1; i >= lowest; i--) {
+                if (epochDays[i] >= to) continue;
+                if (type != ANY_TYPE && types[i] != type) continue;
+                if (needle.length > 0 && !categoryMatches[categories[i]]
+                        && !containsIgnoreCase(descStart[i], descStart[i + 1], needle)) continue;
+
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = i;
+            }
+            return Arrays.copyOf(matches, count);
+        }
+
+        private boolean containsIgnoreCase(int start, int end, char[] needle) {
+            for (int i = start; i <= end - needle.length; i++) {
+                int j = 0;
+                while (j < needle.length && Character.toLowerCase(descPool[i + j]) == needle[j]) {
+                    j++;
+                }
+                if (j == needle.length) return true;
+            }
+            return false;
+        }
+
+        // Rows are in date order, so a day boundary can be found by binary search
+        private int firstOnOrAfter(int epochDay) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (epochDays[mid] < epochDay) low = mid + 1; else high = mid;
+            }
+            return low;
+        }
+    }
+}
@@ -6,9 +6,10 @@ public class User {
     private String password;
     private String email;
     private String phoneNumber;
-    private double currentBalance;
+    // Minor units, see Money
+    private long currentBalance;
 
-    public User(int userId, String username, String email, String phoneNumber, double currentBalance) {
+    public User(int userId, String username, String email, String phoneNumber, long currentBalance) {
         this.userId = userId;
         this.username = username;
         this.email = email;
@@ -21,6 +22,6 @@ public class User {
     public String getUsername() { return username; }
     public String getEmail() { return email; }
     public String getPhoneNumber() { return phoneNumber; }
-    public double getCurrentBalance() { return currentBalance; }
-    public void setCurrentBalance(double currentBalance) { this.currentBalance = currentBalance; }
+    public long getCurrentBalance() { return currentBalance; }
+    public void setCurrentBalance(long currentBalance) { this.currentBalance = currentBalance; }
 }
\ No newline at end of file
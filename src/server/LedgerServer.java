@@ -0,0 +1,369 @@
+package server;
+
+import Database.BudgetDAO;
+import Database.CategoryRegistry;
+import Database.DatabaseConnection;
+import Database.InsufficientBalanceException;
+import Database.TransactionDAO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import models.Budget;
+import models.Money;
+import models.Transaction;
+import models.User;
+import utils.InsightsCache;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+// The ledger over HTTP, for scripts and other local programs; the same DAOs as the Swing app.
+// Each request runs on its own virtual thread, so a request waiting on the database costs no
+// platform thread. Bound to the loopback address only, and there is no login: anything on this
+// machine can read and write any user's ledger.
+//
+//   GET  /users/{id}/balance
+//   GET  /users/{id}/transactions?limit=50
+//   POST /users/{id}/transactions      form fields: type, category, amount, description
+//   GET  /users/{id}/budgets
+//   POST /users/{id}/budgets           form fields: category, limit
+//   GET  /users/{id}/insights?format=text|html
+//   GET  /stats                        connection pool and insights cache counters, as text
+//
+// Amounts are decimal numbers in KSH, e.g. 1234.50. Errors are {"error": "..."}.
+public class LedgerServer {
+
+    public static final int DEFAULT_PORT = 8085;
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 500;
+    // Queued connections the OS holds while every handler is busy
+    private static final int BACKLOG = 1024;
+
+    private final HttpServer server;
+
+    public LedgerServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        server.createContext("/users/", this::handle);
+        server.createContext("/stats", this::handleStats);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(1);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            // /users/{id}/{resource}
+            String[] parts = exchange.getRequestURI().getPath().split("/");
+            if (parts.length != 4) {
+                sendError(exchange, 404, "Not found");
+                return;
+            }
+            int userId;
+            try {
+                userId = Integer.parseInt(parts[2]);
+            } catch (NumberFormatException e) {
+                sendError(exchange, 404, "Not found");
+                return;
+            }
+
+            String method = exchange.getRequestMethod();
+            switch (parts[3]) {
+                case "balance":
+                    if (requireMethod(exchange, method, "GET")) getBalance(exchange, userId);
+                    break;
+                case "transactions":
+                    if (method.equals("POST")) {
+                        addTransaction(exchange, userId);
+                    } else if (requireMethod(exchange, method, "GET")) {
+                        getTransactions(exchange, userId);
+                    }
+                    break;
+                case "budgets":
+                    if (method.equals("POST")) {
+                        saveBudget(exchange, userId);
+                    } else if (requireMethod(exchange, method, "GET")) {
+                        getBudgets(exchange, userId);
+                    }
+                    break;
+                case "insights":
+                    if (requireMethod(exchange, method, "GET")) getInsights(exchange, userId);
+                    break;
+                default:
+                    sendError(exchange, 404, "Not found");
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            sendError(exchange, 500, "Database error");
+        } catch (IllegalArgumentException e) {
+            // URLDecoder rejects a malformed % escape in a form body or query string
+            sendError(exchange, 400, "Malformed request: " + e.getMessage());
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try {
+            if (requireMethod(exchange, exchange.getRequestMethod(), "GET")) {
+                send(exchange, 200, "text/plain; charset=utf-8",
+                        DatabaseConnection.getPoolStats() + "\n" + InsightsCache.getStats() + "\n");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void getBalance(HttpExchange exchange, int userId) throws SQLException, IOException {
+        User user = loadUser(userId);
+        if (user == null) {
+            sendError(exchange, 404, "User not found");
+            return;
+        }
+        StringBuilder json = new StringBuilder(64);
+        json.append("{\"userId\":").append(userId).append(",\"balance\":");
+        Money.appendPlain(json, user.getCurrentBalance()).append('}');
+        sendJson(exchange, 200, json);
+    }
+
+    private void getTransactions(HttpExchange exchange, int userId) throws SQLException, IOException {
+        int limit = DEFAULT_LIMIT;
+        String limitParam = parseForm(exchange.getRequestURI().getRawQuery()).get("limit");
+        if (limitParam != null) {
+            try {
+                limit = Math.max(1, Math.min(MAX_LIMIT, Integer.parseInt(limitParam)));
+            } catch (NumberFormatException e) {
+                sendError(exchange, 400, "limit must be a number");
+                return;
+            }
+        }
+
+        List<Transaction> transactions = TransactionDAO.getRecentTransactions(userId, limit);
+        StringBuilder json = new StringBuilder(64 + transactions.size() * 160);
+        json.append('[');
+        for (int i = 0; i < transactions.size(); i++) {
+            if (i > 0) json.append(',');
+            appendTransaction(json, transactions.get(i));
+        }
+        json.append(']');
+        sendJson(exchange, 200, json);
+    }
+
+    private void addTransaction(HttpExchange exchange, int userId) throws SQLException, IOException {
+        Map<String, String> form = readForm(exchange);
+        String type = form.get("type");
+        String category = form.get("category");
+        String description = form.getOrDefault("description", "");
+
+        if (!"DEPOSIT".equals(type) && !"WITHDRAWAL".equals(type)) {
+            sendError(exchange, 400, "type must be DEPOSIT or WITHDRAWAL");
+            return;
+        }
+        if (category == null || CategoryRegistry.get().byName(category) == null) {
+            sendError(exchange, 400, "Unknown category: " + category);
+            return;
+        }
+        long amount;
+        try {
+            amount = Money.parse(form.getOrDefault("amount", ""));
+        } catch (NumberFormatException | ArithmeticException e) {
+            sendError(exchange, 400, "amount must be a number with at most two decimals");
+            return;
+        }
+        if (amount <= 0) {
+            sendError(exchange, 400, "amount must be positive");
+            return;
+        }
+
+        Transaction transaction;
+        try {
+            transaction = TransactionDAO.addTransaction(userId, type, category, amount, description);
+        } catch (InsufficientBalanceException e) {
+            sendError(exchange, 409, "Insufficient balance");
+            return;
+        }
+
+        StringBuilder json = new StringBuilder(192);
+        appendTransaction(json, transaction);
+        sendJson(exchange, 201, json);
+    }
+
+    private void getBudgets(HttpExchange exchange, int userId) throws SQLException, IOException {
+        List<Budget> budgets = BudgetDAO.getBudgets(userId);
+        StringBuilder json = new StringBuilder(64 + budgets.size() * 128);
+        json.append('[');
+        for (int i = 0; i < budgets.size(); i++) {
+            Budget budget = budgets.get(i);
+            if (i > 0) json.append(',');
+            json.append("{\"budgetId\":").append(budget.getBudgetId());
+            json.append(",\"category\":");
+            appendString(json, budget.getCategoryName());
+            Money.appendPlain(json.append(",\"monthlyLimit\":"), budget.getMonthlyLimit());
+            Money.appendPlain(json.append(",\"spent\":"), budget.getSpentSoFar());
+            Money.appendPlain(json.append(",\"remaining\":"), budget.getRemaining());
+            json.append(",\"percentUsed\":").append(String.format(Locale.ROOT, "%.1f", budget.getPercentage()));
+            json.append('}');
+        }
+        json.append(']');
+        sendJson(exchange, 200, json);
+    }
+
+    private void saveBudget(HttpExchange exchange, int userId) throws SQLException, IOException {
+        Map<String, String> form = readForm(exchange);
+        long limit;
+        try {
+            limit = Money.parse(form.getOrDefault("limit", ""));
+        } catch (NumberFormatException | ArithmeticException e) {
+            sendError(exchange, 400, "limit must be a number with at most two decimals");
+            return;
+        }
+        if (limit <= 0) {
+            sendError(exchange, 400, "limit must be positive");
+            return;
+        }
+        if (!BudgetDAO.saveBudget(userId, form.get("category"), limit)) {
+            sendError(exchange, 400, "Unknown category: " + form.get("category"));
+            return;
+        }
+        getBudgets(exchange, userId);
+    }
+
+    private void getInsights(HttpExchange exchange, int userId) throws SQLException, IOException {
+        User user = loadUser(userId);
+        if (user == null) {
+            sendError(exchange, 404, "User not found");
+            return;
+        }
+        String format = parseForm(exchange.getRequestURI().getRawQuery()).getOrDefault("format", "text");
+        if (format.equals("html")) {
+            send(exchange, 200, "text/html; charset=utf-8", InsightsCache.html(user, null));
+        } else {
+            send(exchange, 200, "text/plain; charset=utf-8", InsightsCache.text(user, null));
+        }
+    }
+
+    private static User loadUser(int userId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            PreparedStatement pstmt = conn.prepareStatement(
+                    "SELECT user_id, username, email, phone_number, current_balance FROM users WHERE user_id = ?");
+            pstmt.setInt(1, userId);
+            ResultSet rs = pstmt.executeQuery();
+            if (!rs.next()) {
+                return null;
+            }
+            return new User(rs.getInt("user_id"), rs.getString("username"), rs.getString("email"),
+                    rs.getString("phone_number"), Money.read(rs, "current_balance"));
+        }
+    }
+
+    private static void appendTransaction(StringBuilder json, Transaction transaction) {
+        json.append("{\"id\":").append(transaction.getTransactionId());
+        json.append(",\"type\":");
+        appendString(json, transaction.getType());
+        Money.appendPlain(json.append(",\"amount\":"), transaction.getAmount());
+        json.append(",\"category\":");
+        appendString(json, transaction.getCategory());
+        json.append(",\"description\":");
+        appendString(json, transaction.getDescription());
+        json.append(",\"date\":");
+        appendString(json, transaction.getDate() != null ? transaction.getDate().toLocalDateTime().toString() : null);
+        Money.appendPlain(json.append(",\"balanceAfter\":"), transaction.getBalanceAfter());
+        json.append('}');
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    private static boolean requireMethod(HttpExchange exchange, String method, String expected) throws IOException {
+        if (method.equals(expected)) {
+            return true;
+        }
+        sendError(exchange, 405, "Method not allowed");
+        return false;
+    }
+
+    private static Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return parseForm(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    // application/x-www-form-urlencoded, as sent in request bodies and query strings
+    private static Map<String, String> parseForm(String encoded) {
+        Map<String, String> fields = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return fields;
+        }
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq >= 0 ? pair.substring(0, eq) : pair;
+            String value = eq >= 0 ? pair.substring(eq + 1) : "";
+            fields.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return fields;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder(message.length() + 16);
+        json.append("{\"error\":");
+        appendString(json, message);
+        json.append('}');
+        sendJson(exchange, status, json);
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, CharSequence json) throws IOException {
+        send(exchange, status, "application/json; charset=utf-8", json);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, CharSequence body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
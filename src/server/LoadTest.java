@@ -0,0 +1,157 @@
+package server;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Drives a running LedgerServer with many concurrent clients, each on its own virtual thread,
+// sending read requests back to back, and prints requests/sec, errors and latency percentiles per
+// endpoint, then the server's pool stats. Failed requests count in the latencies too: under load
+// the slowest requests are the ones that time out waiting for a connection and return 500.
+// Start ServerMain first.
+// Usage: LoadTest [clients] [seconds] [first user id] [user count] [base url]
+public class LoadTest {
+
+    private static final String[] ENDPOINTS = {"balance", "transactions?limit=20", "budgets", "insights"};
+    private static final int WARMUP_SECONDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int firstUserId = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        int userCount = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        String baseUrl = args.length > 4 ? args[4] : "http://127.0.0.1:" + LedgerServer.DEFAULT_PORT;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        System.out.println("Warming up for " + WARMUP_SECONDS + " s...");
+        runClients(client, Math.min(clients, 16), WARMUP_SECONDS, baseUrl, firstUserId, userCount);
+
+        System.out.println("Running " + clients + " clients for " + seconds + " s against " + baseUrl);
+        long start = System.nanoTime();
+        List<Recorder> recorders = runClients(client, clients, seconds, baseUrl, firstUserId, userCount);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        Recorder[] byEndpoint = new Recorder[ENDPOINTS.length];
+        Recorder total = new Recorder();
+        for (int e = 0; e < ENDPOINTS.length; e++) {
+            byEndpoint[e] = new Recorder();
+        }
+        for (Recorder recorder : recorders) {
+            for (int i = 0; i < recorder.count; i++) {
+                boolean failed = recorder.failed[i];
+                byEndpoint[recorder.endpoints[i]].add(0, recorder.latencies[i], failed);
+                total.add(0, recorder.latencies[i], failed);
+            }
+        }
+
+        System.out.println(String.format(Locale.ROOT, "%-24s %9s %7s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (int e = 0; e < ENDPOINTS.length; e++) {
+            printRow(ENDPOINTS[e], byEndpoint[e]);
+        }
+        printRow("all", total);
+        System.out.println(String.format(Locale.ROOT, "Throughput: %.1f req/s, errors: %d", total.count / elapsed, total.errors));
+        printServerStats(client, baseUrl);
+    }
+
+    private static void printServerStats(HttpClient client, String baseUrl) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/stats")).timeout(Duration.ofSeconds(10)).GET().build();
+            System.out.print(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        } catch (Exception e) {
+            System.out.println("❌ Could not read server stats: " + e.getMessage());
+        }
+    }
+
+    private static List<Recorder> runClients(HttpClient client, int clients, int seconds, String baseUrl,
+                                             int firstUserId, int userCount) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Recorder> recorders = new ArrayList<>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int c = 0; c < clients; c++) {
+            Recorder recorder = new Recorder();
+            recorders.add(recorder);
+            int clientNumber = c;
+            executor.execute(() -> {
+                int request = clientNumber;
+                while (System.nanoTime() < deadline) {
+                    int endpoint = request % ENDPOINTS.length;
+                    int userId = firstUserId + (request / ENDPOINTS.length) % userCount;
+                    request++;
+
+                    HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/users/" + userId + "/" + ENDPOINTS[endpoint]))
+                            .timeout(Duration.ofSeconds(30))
+                            .GET()
+                            .build();
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+                        recorder.add(endpoint, System.nanoTime() - sent, response.statusCode() != 200);
+                    } catch (InterruptedException e) {
+                        return;
+                    } catch (Exception e) {
+                        // Timeouts and dropped connections took this long too
+                        recorder.add(endpoint, System.nanoTime() - sent, true);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        return recorders;
+    }
+
+    private static void printRow(String name, Recorder recorder) {
+        long[] sorted = Arrays.copyOf(recorder.latencies, recorder.count);
+        Arrays.sort(sorted);
+        System.out.println(String.format(Locale.ROOT, "%-24s %9d %7d %9.1f %9.1f %9.1f %9.1f", name, recorder.count,
+                recorder.errors, percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0));
+    }
+
+    // Nearest-rank percentile, in milliseconds
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    // Request latencies (nanoseconds), endpoints and outcomes for one client; only its own thread writes it
+    private static class Recorder {
+        private long[] latencies = new long[1024];
+        private int[] endpoints = new int[1024];
+        private boolean[] failed = new boolean[1024];
+        private int count;
+        private int errors;
+
+        void add(int endpoint, long latency, boolean error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+                endpoints = Arrays.copyOf(endpoints, count * 2);
+                failed = Arrays.copyOf(failed, count * 2);
+            }
+            endpoints[count] = endpoint;
+            failed[count] = error;
+            latencies[count++] = latency;
+            if (error) {
+                errors++;
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package utils;
+
+import Database.DatabaseConnection;
+import listeners.BalanceListener;
+import listeners.TransactionListener;
+import models.Money;
+import models.Transaction;
+import models.User;
+import javax.swing.*;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Watches a user's ledger for changes made elsewhere (another window, another client).
+// Each check reads the user's highest transaction_id and current balance: two index lookups,
+// no scan. Listeners only hear about it when one of them moved. Checks run every few seconds
+// while the user is active and back off to once a minute while they are idle.
+public class ChangeMonitor {
+
+    private static final long ACTIVE_INTERVAL_MS = 3_000;
+    private static final long MAX_INTERVAL_MS = 60_000;
+    private static final long IDLE_AFTER_MS = 2 * 60_000;
+    // Beyond this many new rows listeners are told to reload rather than replay each one
+    private static final int REPLAY_LIMIT = 200;
+
+    // One scheduler thread shared by every watched user
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "change-monitor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final User user;
+    private final BalanceListener listener;
+    private final TransactionListener transactionListener;
+    private final Object lock = new Object();
+
+    private int lastMaxId = -1;
+    private long lastBalance;
+    // Rows this client added itself above lastMaxId; the next check skips them
+    private final Set<Integer> acknowledged = new HashSet<>();
+    // Bumped by every acknowledge; a check that sees it move ignores the balance it read
+    private long acknowledgeCount;
+    private long interval = ACTIVE_INTERVAL_MS;
+    private volatile long lastActivity = System.currentTimeMillis();
+    private volatile boolean stopped = false;
+    private ScheduledFuture<?> next;
+
+    private ChangeMonitor(User user, BalanceListener listener, TransactionListener transactionListener) {
+        this.user = user;
+        this.listener = listener;
+        this.transactionListener = transactionListener;
+        this.lastBalance = user.getCurrentBalance();
+    }
+
+    // Listeners are called on the EDT: new rows first, then the balance change (after the user's
+    // balance has been updated). transactionListener may be null.
+    public static ChangeMonitor watch(User user, BalanceListener listener, TransactionListener transactionListener) {
+        ChangeMonitor monitor = new ChangeMonitor(user, listener, transactionListener);
+        monitor.schedule(0);
+        return monitor;
+    }
+
+    // Called on user input; an idle monitor drops back to the short interval right away
+    public void touch() {
+        long previous = lastActivity;
+        lastActivity = System.currentTimeMillis();
+        if (lastActivity - previous >= IDLE_AFTER_MS) {
+            synchronized (lock) {
+                interval = ACTIVE_INTERVAL_MS;
+                if (next != null && next.getDelay(TimeUnit.MILLISECONDS) > ACTIVE_INTERVAL_MS && next.cancel(false)) {
+                    schedule(ACTIVE_INTERVAL_MS);
+                }
+            }
+        }
+    }
+
+    // Records a change this client made itself, so the next check does not report it again.
+    // The high-water mark stays put: another client may have committed a lower id just before
+    // this one, and the next check still has to fetch it.
+    public void acknowledge(int transactionId, long balance) {
+        synchronized (lock) {
+            if (transactionId > lastMaxId) {
+                acknowledged.add(transactionId);
+            }
+            lastBalance = balance;
+            acknowledgeCount++;
+        }
+    }
+
+    public void stop() {
+        stopped = true;
+        synchronized (lock) {
+            if (next != null) {
+                next.cancel(false);
+            }
+        }
+    }
+
+    private void schedule(long delay) {
+        synchronized (lock) {
+            if (!stopped) {
+                next = scheduler.schedule(this::check, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void check() {
+        if (stopped) return;
+
+        long acknowledgedBefore;
+        synchronized (lock) {
+            acknowledgedBefore = acknowledgeCount;
+        }
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            String query = "SELECT u.current_balance, " +
+                    "(SELECT COALESCE(MAX(t.transaction_id), 0) FROM transactions t WHERE t.user_id = u.user_id) as max_id " +
+                    "FROM users u WHERE u.user_id = ?";
+            PreparedStatement pstmt = conn.prepareStatement(query);
+            pstmt.setInt(1, user.getUserId());
+            ResultSet rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                long read = Money.read(rs, "current_balance");
+                int maxId = rs.getInt("max_id");
+
+                long balance;
+                boolean balanceChanged;
+                long delta;
+                int previousMaxId;
+                synchronized (lock) {
+                    // The first check only sets the high-water mark; the balance was read at login
+                    previousMaxId = lastMaxId;
+                    lastMaxId = Math.max(lastMaxId, maxId);
+                    if (acknowledgeCount == acknowledgedBefore) {
+                        balance = read;
+                        balanceChanged = balance != lastBalance;
+                        delta = balance - lastBalance;
+                        lastBalance = balance;
+                    } else {
+                        // This client committed while the query ran, so the read may predate its own
+                        // change; keep the acknowledged balance and let the next check compare
+                        balance = lastBalance;
+                        balanceChanged = false;
+                        delta = 0;
+                    }
+                }
+
+                List<Transaction> added = null;
+                boolean reload = false;
+                if (previousMaxId >= 0 && maxId > previousMaxId) {
+                    added = fetchAdded(conn, previousMaxId, maxId);
+                    // Decided before the client's own rows are dropped: past the limit not every row was fetched
+                    reload = added.size() > REPLAY_LIMIT;
+                }
+
+                boolean changed;
+                synchronized (lock) {
+                    if (added != null) {
+                        added.removeIf(t -> acknowledged.contains(t.getTransactionId()));
+                    }
+                    acknowledged.removeIf(id -> id <= maxId);
+                    changed = reload || (added != null && !added.isEmpty()) || balanceChanged;
+                    interval = nextInterval(changed);
+                }
+
+                if (changed) {
+                    List<Transaction> rows = transactionListener != null ? added : null;
+                    boolean replayAll = reload;
+                    SwingUtilities.invokeLater(() -> {
+                        if (stopped) return;
+                        if (rows != null) {
+                            if (replayAll) {
+                                transactionListener.onTransactionsReloaded();
+                            } else {
+                                for (Transaction t : rows) {
+                                    transactionListener.onTransactionAdded(t);
+                                }
+                            }
+                        }
+                        user.setCurrentBalance(balance);
+                        listener.onBalanceChanged(user, delta);
+                    });
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            synchronized (lock) {
+                interval = Math.min(interval * 2, MAX_INTERVAL_MS);
+            }
+        }
+
+        synchronized (lock) {
+            schedule(interval);
+        }
+    }
+
+    // Rows committed since the last check, oldest first; at most REPLAY_LIMIT + 1 of them
+    private List<Transaction> fetchAdded(Connection conn, int afterId, int upToId) throws SQLException {
+        String query = "SELECT t.*, c.category_name FROM transactions t " +
+                "JOIN categories c ON t.category_id = c.category_id " +
+                "WHERE t.user_id = ? AND t.transaction_id > ? AND t.transaction_id <= ? " +
+                "ORDER BY t.transaction_id LIMIT " + (REPLAY_LIMIT + 1);
+        PreparedStatement pstmt = conn.prepareStatement(query);
+        pstmt.setInt(1, user.getUserId());
+        pstmt.setInt(2, afterId);
+        pstmt.setInt(3, upToId);
+        ResultSet rs = pstmt.executeQuery();
+
+        List<Transaction> rows = new ArrayList<>();
+        while (rs.next()) {
+            rows.add(new Transaction(
+                    rs.getInt("transaction_id"),
+                    rs.getString("type"),
+                    Money.read(rs, "amount"),
+                    rs.getString("category_name"),
+                    rs.getString("description"),
+                    rs.getTimestamp("transaction_date"),
+                    Money.read(rs, "balance_after")
+            ));
+        }
+        return rows;
+    }
+
+    private long nextInterval(boolean changed) {
+        boolean idle = System.currentTimeMillis() - lastActivity >= IDLE_AFTER_MS;
+        if (changed || !idle) {
+            return ACTIVE_INTERVAL_MS;
+        }
+        return Math.min(interval * 2, MAX_INTERVAL_MS);
+    }
+}
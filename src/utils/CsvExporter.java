@@ -0,0 +1,239 @@
+package utils;
+
+import Database.DatabaseConnection;
+import javax.swing.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.*;
+import java.util.concurrent.CancellationException;
+
+// Streams a user's full transaction history to CSV in constant memory: rows come off a
+// forward-only streaming cursor one at a time, are encoded into one reused buffer and written
+// straight to a FileChannel. The file only appears under its real name once the export completes.
+public class CsvExporter {
+
+    private static final String HEADER = "Date,Type,Amount (KSH),Category,Description,Balance After (KSH)\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PROGRESS_EVERY = 1000;
+
+    public interface Progress {
+        void update(long rowsWritten, long totalRows);
+
+        boolean isCancelled();
+    }
+
+    // Runs the export on a SwingWorker with a cancellable progress dialog; call on the EDT
+    public static void exportWithProgress(int userId, File file, JFrame parent) {
+        ProgressMonitor monitor = new ProgressMonitor(parent, "Exporting transactions to " + file.getName(), "", 0, 100);
+        monitor.setMillisToDecideToPopup(300);
+
+        SwingWorker<Long, Void> worker = new SwingWorker<Long, Void>() {
+            @Override
+            protected Long doInBackground() throws Exception {
+                return export(userId, file, new Progress() {
+                    @Override
+                    public void update(long rowsWritten, long totalRows) {
+                        setProgress(totalRows == 0 ? 100 : (int) Math.min(100, rowsWritten * 100 / totalRows));
+                    }
+
+                    @Override
+                    public boolean isCancelled() {
+                        return monitor.isCanceled();
+                    }
+                });
+            }
+
+            @Override
+            protected void done() {
+                monitor.close();
+                try {
+                    long rows = get();
+                    JOptionPane.showMessageDialog(parent,
+                            "✅ Export successful!\n" + rows + " transactions saved to: " + file.getName(),
+                            "Export Complete",
+                            JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    if (e.getCause() instanceof CancellationException) {
+                        return;
+                    }
+                    e.getCause().printStackTrace();
+                    JOptionPane.showMessageDialog(parent,
+                            "❌ Export failed: " + e.getCause().getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName())) {
+                int percent = (Integer) evt.getNewValue();
+                monitor.setProgress(percent);
+                monitor.setNote(percent + "%");
+            }
+        });
+        worker.execute();
+    }
+
+    // Returns the number of rows written. Throws CancellationException (and leaves no file) if cancelled.
+    public static long export(int userId, File file, Progress progress) throws SQLException, IOException {
+        File partial = new File(file.getPath() + ".part");
+        long written = 0;
+        boolean complete = false;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             FileChannel channel = FileChannel.open(partial.toPath(),
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            // Taken first: a streaming result set keeps the connection busy until it is fully read
+            long total = 0;
+            PreparedStatement countStmt = conn.prepareStatement("SELECT COUNT(*) as total FROM transactions WHERE user_id = ?");
+            countStmt.setInt(1, userId);
+            ResultSet countRs = countStmt.executeQuery();
+            if (countRs.next()) {
+                total = countRs.getLong("total");
+            }
+            countStmt.close();
+
+            String query = "SELECT t.transaction_date, t.type, t.amount, c.category_name, t.description, t.balance_after " +
+                    "FROM transactions t " +
+                    "JOIN categories c ON t.category_id = c.category_id " +
+                    "WHERE t.user_id = ? ORDER BY t.transaction_date DESC, t.transaction_id DESC";
+            PreparedStatement pstmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Connector/J streams row by row only with this exact fetch size
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            pstmt.setInt(1, userId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                written = write(rs, total, channel, progress);
+            }
+            complete = true;
+        } finally {
+            if (!complete) {
+                Files.deleteIfExists(partial.toPath());
+            }
+        }
+
+        Files.move(partial.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return written;
+    }
+
+    // Writes the header and then one line per row of rs, whose columns are date, type, amount,
+    // category, description and balance after, in that order. Returns the number of rows written.
+    public static long write(ResultSet rs, long total, FileChannel channel, Progress progress) throws SQLException, IOException {
+        CsvWriter out = new CsvWriter(channel);
+        out.append(HEADER);
+
+        long written = 0;
+        while (rs.next()) {
+            // Raw column text: no Timestamp or double round trip per row
+            out.field(rs.getString(1)).comma()
+                    .field(rs.getString(2)).comma()
+                    .field(rs.getString(3)).comma()
+                    .field(rs.getString(4)).comma()
+                    .field(rs.getString(5)).comma()
+                    .field(rs.getString(6)).newline();
+            written++;
+
+            if (written % PROGRESS_EVERY == 0) {
+                if (progress.isCancelled()) {
+                    // Stop the server side first, otherwise closing drains every remaining row
+                    Statement statement = rs.getStatement();
+                    if (statement != null) {
+                        statement.cancel();
+                    }
+                    throw new CancellationException("Export cancelled");
+                }
+                progress.update(written, total);
+            }
+        }
+
+        out.flush();
+        progress.update(written, total);
+        return written;
+    }
+
+    // Encodes CSV text into a single reused byte buffer and hands full buffers to the channel
+    private static class CsvWriter {
+        private final FileChannel channel;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final StringBuilder field = new StringBuilder(256);
+
+        CsvWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        CsvWriter append(CharSequence text) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(text);
+            while (true) {
+                CoderResult result = encoder.encode(chars, bytes, false);
+                if (result.isOverflow()) {
+                    drain();
+                } else if (result.isError()) {
+                    result.throwException();
+                } else {
+                    return this;
+                }
+            }
+        }
+
+        // Quotes only when needed (RFC 4180): commas, quotes or line breaks inside the value
+        CsvWriter field(String value) throws IOException {
+            if (value == null || value.isEmpty()) {
+                return this;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                return append(value);
+            }
+
+            field.setLength(0);
+            field.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    field.append('"');
+                }
+                field.append(c);
+            }
+            field.append('"');
+            return append(field);
+        }
+
+        CsvWriter comma() throws IOException {
+            return append(",");
+        }
+
+        CsvWriter newline() throws IOException {
+            return append("\n");
+        }
+
+        private void drain() throws IOException {
+            bytes.flip();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            bytes.clear();
+        }
+
+        void flush() throws IOException {
+            encoder.encode(CharBuffer.allocate(0), bytes, true);
+            drain();
+        }
+    }
+}
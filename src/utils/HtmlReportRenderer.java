@@ -0,0 +1,499 @@
+package utils;
+
+import models.Money;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+// Standalone HTML documents for the insights and weekly report exports
+public class HtmlReportRenderer implements ReportRenderer {
+
+    @Override
+    public String render(InsightsReport report) {
+        StringBuilder out = new StringBuilder(16384);
+        appendInsightsHead(out);
+
+        out.append("<h1>📊 Financial Insights & Recommendations</h1>");
+        appendSpending(out, report);
+        appendSavings(out, report);
+        appendComparison(out, report);
+        appendRecommendations(out, report);
+
+        out.append("<div class='footer'>");
+        out.append("<div>📌 Keep tracking your finances daily!</div>");
+        out.append("<div class='signature'>");
+        out.append("Generated on: ").append(report.getGeneratedOn().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy")));
+        out.append("</div>");
+        out.append("</div>\n");
+
+        out.append("</div></body></html>");
+        return out.toString();
+    }
+
+    // A section fragment, for embedding in a page that already carries the insights styles
+    @Override
+    public String renderSummary(InsightsReport report) {
+        InsightsReport.Savings savings = report.getSavings();
+        StringBuilder out = new StringBuilder();
+        out.append("<div class='section'>");
+        out.append("<h2>Quick Financial Summary</h2>");
+
+        out.append("<div class='grid'>");
+        out.append("<div class='stat-card'>");
+        out.append("<div>Current Balance</div>");
+        out.append("<div class='amount'>").append(formatKSH(report.getBalance())).append("</div>");
+        out.append("</div>");
+        out.append("<div class='stat-card'><div>This Month Income</div><div class='amount positive'>").append(formatKSH(savings.getMonthIncome())).append("</div></div>");
+        out.append("<div class='stat-card'><div>This Month Expenses</div><div class='amount negative'>").append(formatKSH(savings.getMonthExpenses())).append("</div></div>");
+        out.append("<div class='stat-card'><div>Net Change</div><div class='amount'>").append(formatKSH(savings.getMonthSavings())).append("</div></div>");
+
+        out.append("</div></div>");
+        return out.toString();
+    }
+
+    @Override
+    public String renderWeekly(WeeklyReport report) {
+        StringBuilder out = new StringBuilder(24576);
+        appendWeeklyHead(out);
+
+        out.append("<h1>📊 Weekly Spending Report</h1>");
+        out.append("<p style='text-align: center;'>Period: ").append(report.getStartDate()).append(" to ").append(report.getEndDate()).append("</p>");
+
+        out.append("<h2>📈 Spending by Category</h2>");
+        out.append("<table>");
+        out.append("<tr><th>Category</th><th>Amount (").append(MoneyFormat.CURRENCY).append(")</th></tr>");
+        for (Map.Entry<String, Long> entry : report.getCategories()) {
+            out.append("<tr>");
+            out.append("<td>").append(entry.getKey()).append("</td>");
+            MoneyFormat.appendKSH(out.append("<td><span class='amount'>"), entry.getValue()).append("</span></td>");
+            out.append("</tr>");
+        }
+        out.append("</table>");
+
+        out.append("<div class='stats'>");
+        out.append("<p><strong>Total Spent:</strong> <span class='amount negative'>")
+                .append(formatKSH(report.getTotalSpent())).append("</span></p>");
+        out.append("<p><strong>Total Income:</strong> <span class='amount positive'>")
+                .append(formatKSH(report.getTotalIncome())).append("</span></p>");
+        out.append("<p><strong>Net Change:</strong> <span class='amount'>")
+                .append(formatKSH(report.getNetChange())).append("</span></p>");
+        out.append("</div>");
+
+        out.append(render(report.getInsights()));
+
+        out.append("<div class='footer'>");
+        out.append("Generated on: ").append(report.getGeneratedAt().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy HH:mm:ss")));
+        out.append("<br>📌 Keep tracking your finances daily!");
+        out.append("</div>");
+
+        out.append("</div></body></html>");
+        return out.toString();
+    }
+
+    @Override
+    public String renderError(String message) {
+        StringBuilder out = new StringBuilder(8192);
+        appendInsightsHead(out);
+        out.append("<p style='color: red;'>").append(message).append("</p>");
+        out.append("</div></body></html>");
+        return out.toString();
+    }
+
+    private void appendSpending(StringBuilder out, InsightsReport report) {
+        InsightsReport.Spending spending = report.getSpending();
+        out.append("<div class='section'>");
+        out.append("<h2>💰 Spending Analysis</h2>");
+
+        long avgDaily = spending.getAverageDaily();
+        if (avgDaily > 0) {
+            out.append("<div class='grid'>");
+            out.append("<div class='stat-card'>");
+            out.append("<div style='font-size: 0.9em; color: #666;'>Average Daily Spending</div>");
+            out.append("<div class='amount'>").append(formatKSH(avgDaily)).append("</div>");
+            out.append("</div>");
+
+            if (avgDaily > Money.ofMajor(2000)) {
+                out.append("<div class='warning'>⚠️ Your daily spending is high. Consider setting a daily limit of ").append(formatKSH(Money.ofMajor(1500))).append("</div>");
+            } else if (avgDaily > Money.ofMajor(1000)) {
+                out.append("<div class='positive'>✅ Your daily spending is moderate. You're doing well!</div>");
+            } else {
+                out.append("<div class='positive'>🌟 Excellent! Your daily spending is very controlled.</div>");
+            }
+            out.append("</div>");
+        }
+
+        out.append("<h3>📈 Top Spending Categories</h3><ul>");
+        int rank = 1;
+        for (Map.Entry<String, Long> entry : spending.getTopCategories()) {
+            out.append("<li>");
+            out.append("<span><span class='badge'>#").append(rank).append("</span> ").append(entry.getKey()).append("</span>");
+            out.append("<span class='amount'>").append(formatKSH(entry.getValue())).append("</span>");
+            out.append("</li>");
+            rank++;
+        }
+        out.append("</ul>");
+
+        out.append("<div class='tips' style='margin-top: 20px;'>");
+        for (Map.Entry<String, Long> entry : spending.getCategories()) {
+            appendCategoryTip(out, entry.getKey(), entry.getValue());
+        }
+        out.append("</div>");
+
+        out.append("</div>");
+    }
+
+    private void appendCategoryTip(StringBuilder out, String category, long amount) {
+        if (category.equalsIgnoreCase("Food & Dining") && amount > Money.ofMajor(5000)) {
+            out.append("<div class='warning' style='margin: 10px 0;'>");
+            out.append("🍽️ <strong>Food & Dining:</strong> You spent ").append(formatKSH(amount));
+            out.append("<br>• Try meal prepping to save up to 30%");
+            out.append("<br>• Use cashback apps like Zina or PesaPal");
+            out.append("</div>");
+        }
+        else if (category.equalsIgnoreCase("Shopping") && amount > Money.ofMajor(3000)) {
+            out.append("<div class='warning' style='margin: 10px 0;'>");
+            out.append("🛍️ <strong>Shopping:</strong> You spent ").append(formatKSH(amount));
+            out.append("<br>• Wait 24 hours before making non-essential purchases");
+            out.append("</div>");
+        }
+        else if (category.equalsIgnoreCase("Transportation") && amount > Money.ofMajor(2000)) {
+            out.append("<div class='warning' style='margin: 10px 0;'>");
+            out.append("🚗 <strong>Transportation:</strong> You spent ").append(formatKSH(amount));
+            out.append("<br>• Consider using public transport like matatus/SGR");
+            out.append("<br>• Use ride-sharing apps during off-peak hours");
+            out.append("</div>");
+        }
+        else if (category.equalsIgnoreCase("Entertainment") && amount > Money.ofMajor(1500)) {
+            out.append("<div class='warning' style='margin: 10px 0;'>");
+            out.append("🎬 <strong>Entertainment:</strong> You spent ").append(formatKSH(amount));
+            out.append("<br>• Look for free community events in Nairobi");
+            out.append("<br>• Share streaming service subscriptions with family");
+            out.append("</div>");
+        }
+        else if (category.equalsIgnoreCase("Bills & Utilities") && amount > Money.ofMajor(4000)) {
+            out.append("<div class='warning' style='margin: 10px 0;'>");
+            out.append("💡 <strong>Utilities:</strong> You spent ").append(formatKSH(amount));
+            out.append("<br>• Consider energy-efficient appliances");
+            out.append("<br>• Turn off lights and electronics when not in use");
+            out.append("</div>");
+        }
+    }
+
+    private void appendSavings(StringBuilder out, InsightsReport report) {
+        InsightsReport.Savings savings = report.getSavings();
+        out.append("<div class='section'>");
+        out.append("<h2>💰 Savings Analysis</h2>");
+
+        out.append("<div class='grid'>");
+        out.append("<div class='stat-card'><div>Lifetime Income</div><div class='amount positive'>").append(formatKSH(savings.getTotalIncome())).append("</div></div>");
+        out.append("<div class='stat-card'><div>Lifetime Expenses</div><div class='amount negative'>").append(formatKSH(savings.getTotalExpenses())).append("</div></div>");
+        out.append("<div class='stat-card'><div>Lifetime Savings</div><div class='amount'>").append(formatKSH(savings.getTotalSavings())).append("</div></div>");
+        out.append("</div>");
+
+        String currentMonth = report.getGeneratedOn().format(DateTimeFormatter.ofPattern("MMMM"));
+        out.append("<h3>📅 This Month (").append(currentMonth).append(")</h3>");
+        out.append("<div class='grid'>");
+        out.append("<div class='stat-card'><div>Income</div><div class='amount positive'>").append(formatKSH(savings.getMonthIncome())).append("</div></div>");
+        out.append("<div class='stat-card'><div>Expenses</div><div class='amount negative'>").append(formatKSH(savings.getMonthExpenses())).append("</div></div>");
+        out.append("<div class='stat-card'><div>Savings</div><div class='amount'>").append(formatKSH(savings.getMonthSavings())).append("</div></div>");
+        out.append("</div>");
+
+        if (savings.hasSavingsRate()) {
+            double savingsRate = savings.getSavingsRate();
+            out.append("<div class='stat-card' style='margin-top: 20px;'>");
+            out.append("<div>Savings Rate</div>");
+            out.append("<div class='amount'>").append(String.format("%.1f%%", savingsRate)).append("</div>");
+
+            if (savingsRate >= 50) {
+                out.append("<div class='positive'>🌟 EXCELLENT! You're saving more than 50% of your income!</div>");
+            } else if (savingsRate >= 30) {
+                out.append("<div class='positive'>👍 GREAT! You're saving 30-50% of your income.</div>");
+            } else if (savingsRate >= 20) {
+                out.append("<div class='positive'>✅ GOOD! You're saving 20-30% of your income.</div>");
+            } else if (savingsRate >= 10) {
+                out.append("<div class='warning'>⚠️ You're saving 10-20% of your income.</div>");
+            } else {
+                out.append("<div class='negative'>🔴 URGENT: Your savings rate is below 10%.</div>");
+            }
+            out.append("</div>");
+        }
+
+        out.append("</div>");
+    }
+
+    private void appendComparison(StringBuilder out, InsightsReport report) {
+        InsightsReport.Comparison comparison = report.getComparison();
+        out.append("<div class='section'>");
+        out.append("<h2>📊 Month-over-Month Comparison</h2>");
+
+        if (comparison.isAvailable()) {
+            double expenseChange = comparison.getExpenseChange();
+            double incomeChange = comparison.getIncomeChange();
+
+            out.append("<h3>").append(TextReportRenderer.monthName(comparison.getLatestMonth().getMonthValue()))
+                    .append(" vs ").append(TextReportRenderer.monthName(comparison.getPreviousMonth().getMonthValue())).append("</h3>");
+            out.append("<div class='grid'>");
+
+            if (expenseChange > 0) {
+                out.append("<div class='stat-card warning'>");
+                out.append("<div>Spending Change</div>");
+                out.append("<div class='negative'>+").append(String.format("%.1f%%", expenseChange)).append("</div>");
+                out.append("<small>Review what caused this increase</small>");
+                out.append("</div>");
+            } else if (expenseChange < 0) {
+                out.append("<div class='stat-card positive'>");
+                out.append("<div>Spending Change</div>");
+                out.append("<div>").append(String.format("%.1f%%", Math.abs(expenseChange))).append(" decrease</div>");
+                out.append("<small>Great job!</small>");
+                out.append("</div>");
+            }
+
+            if (incomeChange != 0) {
+                out.append("<div class='stat-card'>");
+                out.append("<div>Income Change</div>");
+                out.append("<div class='").append(incomeChange > 0 ? "positive" : "negative").append("'>");
+                out.append(incomeChange > 0 ? "+" : "").append(String.format("%.1f%%", incomeChange));
+                out.append("</div>");
+                out.append("</div>");
+            }
+
+            out.append("</div>");
+        } else {
+            out.append("<p>Not enough data for month-over-month comparison yet. Add more transactions to see trends!</p>");
+        }
+
+        out.append("</div>");
+    }
+
+    private void appendRecommendations(StringBuilder out, InsightsReport report) {
+        InsightsReport.Recommendations recommendations = report.getRecommendations();
+        out.append("<div class='section'>");
+        out.append("<h2>Smart Recommendations</h2>");
+
+        if (recommendations.hasEmergencyFundGoal()) {
+            int months = InsightsReport.Recommendations.EMERGENCY_FUND_MONTHS;
+            out.append("<h3> Emergency Fund</h3>");
+            out.append("<div class='stat-card'>");
+            out.append("<div>Target (").append(months).append(" months)</div>");
+            out.append("<div class='amount'>").append(formatKSH(recommendations.getEmergencyFund())).append("</div>");
+
+            if (recommendations.getEmergencyShortfall() > 0) {
+                out.append("<div class='warning'>⚠️ You need ").append(formatKSH(recommendations.getEmergencyShortfall())).append(" more</div>");
+                out.append("<div>Save ").append(formatKSH(recommendations.getMonthlySavingsNeeded()))
+                        .append(" per month for ").append(months).append(" months</div>");
+            } else {
+                out.append("<div class='positive'>✅ You have a fully-funded emergency fund!</div>");
+            }
+            out.append("</div>");
+        }
+
+        if (recommendations.canInvest()) {
+            out.append("<h3>📈 Investment Opportunities</h3>");
+            out.append("<div class='grid'>");
+            out.append("<div class='stat-card'>");
+            out.append("<div>Consider investing</div>");
+            out.append("<div class='amount positive'>").append(formatKSH(recommendations.getInvestAmount())).append("</div>");
+            out.append("<small>30% of your savings</small>");
+            out.append("</div>");
+
+            out.append("<div class='stat-card'>");
+            out.append("<div>Options in Kenya</div>");
+            out.append("<ul style='font-size: 0.9em; margin-top: 10px;'>");
+            out.append("<li>📊 Money Market Funds (8-10%)</li>");
+            out.append("<li>🏦 Sacco Accounts (10-12%)</li>");
+            out.append("<li>📈 Treasury Bonds</li>");
+            out.append("</ul>");
+            out.append("</div>");
+            out.append("</div>");
+        }
+
+        if (recommendations.getAverageMonthlyIncome() > 0) {
+            out.append("<h3> 50/30/20 Budget Rule</h3>");
+            out.append("<div class='grid'>");
+            out.append("<div class='stat-card'><div>Needs (50%)</div><div class='amount'>").append(formatKSH(recommendations.getNeeds())).append("</div></div>");
+            out.append("<div class='stat-card'><div>Wants (30%)</div><div class='amount'>").append(formatKSH(recommendations.getWants())).append("</div></div>");
+            out.append("<div class='stat-card'><div>Savings (20%)</div><div class='amount'>").append(formatKSH(recommendations.getSavingsShare())).append("</div></div>");
+            out.append("</div>");
+        }
+
+        out.append("</div>");
+    }
+
+    // Styles for the insights sections, through the opening of the container
+    private static void appendInsightsHead(StringBuilder out) {
+        out.append("<!DOCTYPE html>\n");
+        out.append("<html><head>\n");
+        out.append("<meta charset='UTF-8'>\n");
+        out.append("<meta name='viewport' content='width=device-width, initial-scale=1.0'>\n");
+        out.append("<title>Financial Insights Report</title>\n");
+        out.append("<style>\n");
+        out.append("@import url('https://fonts.googleapis.com/css2?family=Montserrat+Alternates:wght@400;500;600;700&display=swap');\n");
+        out.append("* { margin: 0; padding: 0; box-sizing: border-box; }\n");
+        out.append("body { \n");
+        out.append("  font-family: 'Montserrat Alternates', sans-serif; \n");
+        out.append("  background: linear-gradient(135deg, #667eea 0%, #764ba2 100%);\n");
+        out.append("  min-height: 100vh;\n");
+        out.append("  padding: 40px 20px;\n");
+        out.append("}\n");
+        out.append(".container { \n");
+        out.append("  max-width: 1000px; \n");
+        out.append("  margin: 0 auto; \n");
+        out.append("  background: white; \n");
+        out.append("  padding: 40px; \n");
+        out.append("  border-radius: 30px; \n");
+        out.append("  box-shadow: 0 20px 60px rgba(0,0,0,0.3);\n");
+        out.append("  animation: slideIn 0.5s ease-out;\n");
+        out.append("}\n");
+        out.append("@keyframes slideIn {\n");
+        out.append("  from { transform: translateY(30px); opacity: 0; }\n");
+        out.append("  to { transform: translateY(0); opacity: 1; }\n");
+        out.append("}\n");
+        out.append("h1 { \n");
+        out.append("  color: #1976d2; \n");
+        out.append("  text-align: center; \n");
+        out.append("  font-size: 2.5em;\n");
+        out.append("  font-weight: 700;\n");
+        out.append("  margin-bottom: 20px;\n");
+        out.append("  padding-bottom: 20px;\n");
+        out.append("  border-bottom: 4px solid #1976d2;\n");
+        out.append("  position: relative;\n");
+        out.append("}\n");
+        out.append("h1::after {\n");
+        out.append("  content: '📊';\n");
+        out.append("  position: absolute;\n");
+        out.append("  right: 20px;\n");
+        out.append("  top: 50%;\n");
+        out.append("  transform: translateY(-50%);\n");
+        out.append("  font-size: 1.2em;\n");
+        out.append("}\n");
+        out.append("h2 { \n");
+        out.append("  color: #2e7d32; \n");
+        out.append("  font-size: 1.8em;\n");
+        out.append("  font-weight: 600;\n");
+        out.append("  margin: 30px 0 20px;\n");
+        out.append("  padding-left: 15px;\n");
+        out.append("  border-left: 5px solid #1976d2;\n");
+        out.append("}\n");
+        out.append("h3 {\n");
+        out.append("  color: #1565c0;\n");
+        out.append("  font-size: 1.4em;\n");
+        out.append("  margin: 20px 0 10px;\n");
+        out.append("}\n");
+        out.append(".section { \n");
+        out.append("  margin: 30px 0; \n");
+        out.append("  padding: 25px; \n");
+        out.append("  background: #f8f9fa; \n");
+        out.append("  border-radius: 20px; \n");
+        out.append("  transition: transform 0.3s;\n");
+        out.append("}\n");
+        out.append(".section:hover {\n");
+        out.append("  transform: translateX(10px);\n");
+        out.append("}\n");
+        out.append(".amount { \n");
+        out.append("  font-weight: 700; \n");
+        out.append("  color: #1976d2; \n");
+        out.append("  font-size: 1.2em;\n");
+        out.append("  background: #e3f2fd;\n");
+        out.append("  padding: 5px 15px;\n");
+        out.append("  border-radius: 30px;\n");
+        out.append("  display: inline-block;\n");
+        out.append("}\n");
+        out.append(".positive { color: #2e7d32; }\n");
+        out.append(".negative { color: #c62828; }\n");
+        out.append(".warning { \n");
+        out.append("  color: #ff6f00; \n");
+        out.append("  font-weight: 600;\n");
+        out.append("  background: #fff3e0;\n");
+        out.append("  padding: 10px;\n");
+        out.append("  border-radius: 10px;\n");
+        out.append("  border-left: 4px solid #ff6f00;\n");
+        out.append("}\n");
+        out.append(".stat-card {\n");
+        out.append("  display: inline-block;\n");
+        out.append("  background: white;\n");
+        out.append("  padding: 20px;\n");
+        out.append("  border-radius: 15px;\n");
+        out.append("  box-shadow: 0 4px 6px rgba(0,0,0,0.1);\n");
+        out.append("  margin: 10px;\n");
+        out.append("  min-width: 200px;\n");
+        out.append("}\n");
+        out.append("ul { \n");
+        out.append("  list-style-type: none; \n");
+        out.append("  padding-left: 0; \n");
+        out.append("}\n");
+        out.append("li { \n");
+        out.append("  margin: 15px 0; \n");
+        out.append("  padding: 15px 20px; \n");
+        out.append("  background: white; \n");
+        out.append("  border-radius: 15px; \n");
+        out.append("  box-shadow: 0 2px 4px rgba(0,0,0,0.05);\n");
+        out.append("  display: flex;\n");
+        out.append("  justify-content: space-between;\n");
+        out.append("  align-items: center;\n");
+        out.append("  transition: all 0.3s;\n");
+        out.append("}\n");
+        out.append("li:hover {\n");
+        out.append("  box-shadow: 0 4px 8px rgba(0,0,0,0.1);\n");
+        out.append("  transform: scale(1.02);\n");
+        out.append("}\n");
+        out.append(".badge {\n");
+        out.append("  background: #1976d2;\n");
+        out.append("  color: white;\n");
+        out.append("  padding: 5px 15px;\n");
+        out.append("  border-radius: 30px;\n");
+        out.append("  font-size: 0.9em;\n");
+        out.append("  font-weight: 600;\n");
+        out.append("}\n");
+        out.append(".grid {\n");
+        out.append("  display: grid;\n");
+        out.append("  grid-template-columns: repeat(auto-fit, minmax(250px, 1fr));\n");
+        out.append("  gap: 20px;\n");
+        out.append("  margin: 20px 0;\n");
+        out.append("}\n");
+        out.append(".footer { \n");
+        out.append("  text-align: center; \n");
+        out.append("  margin-top: 40px; \n");
+        out.append("  padding-top: 20px;\n");
+        out.append("  color: #666; \n");
+        out.append("  font-size: 0.95em;\n");
+        out.append("  border-top: 2px dashed #1976d2;\n");
+        out.append("}\n");
+        out.append(".signature {\n");
+        out.append("  font-family: 'Montserrat Alternates', cursive;\n");
+        out.append("  color: #1976d2;\n");
+        out.append("  font-size: 1.1em;\n");
+        out.append("  margin-top: 10px;\n");
+        out.append("}\n");
+        out.append("</style>\n");
+        out.append("</head><body>\n");
+        out.append("<div class='container'>\n");
+    }
+
+    private static void appendWeeklyHead(StringBuilder out) {
+        out.append("<!DOCTYPE html>\n");
+        out.append("<html><head>\n");
+        out.append("<meta charset='UTF-8'>\n");
+        out.append("<title>Weekly Spending Report</title>\n");
+        out.append("<style>\n");
+        out.append("@import url('https://fonts.googleapis.com/css2?family=Montserrat+Alternates:wght@400;700&display=swap');\n");
+        out.append("body { font-family: 'Montserrat Alternates', sans-serif; padding: 30px; background: #f5f5f5; }\n");
+        out.append(".container { max-width: 1000px; margin: 0 auto; background: white; padding: 30px; border-radius: 15px; box-shadow: 0 4px 6px rgba(0,0,0,0.1); }\n");
+        out.append("h1 { color: #1976d2; text-align: center; border-bottom: 3px solid #1976d2; padding-bottom: 15px; }\n");
+        out.append("h2 { color: #2e7d32; margin-top: 25px; }\n");
+        out.append(".stats { background: #e3f2fd; padding: 20px; border-radius: 10px; margin: 20px 0; }\n");
+        out.append(".amount { font-size: 1.2em; font-weight: bold; color: #1976d2; }\n");
+        out.append(".positive { color: #2e7d32; }\n");
+        out.append(".negative { color: #c62828; }\n");
+        out.append("table { width: 100%; border-collapse: collapse; margin: 20px 0; }\n");
+        out.append("th { background: #1976d2; color: white; padding: 12px; text-align: left; }\n");
+        out.append("td { padding: 10px; border-bottom: 1px solid #ddd; }\n");
+        out.append("tr:hover { background: #f5f5f5; }\n");
+        out.append(".footer { text-align: center; margin-top: 30px; color: #666; font-size: 0.9em; }\n");
+        out.append("</style>\n");
+        out.append("</head><body>\n");
+        out.append("<div class='container'>\n");
+    }
+
+    private static String formatKSH(long amount) {
+        return MoneyFormat.formatKSH(amount);
+    }
+}
@@ -0,0 +1,184 @@
+package utils;
+
+import Database.DatabaseConnection;
+import Database.InsightsSnapshots;
+import Database.SchemaMigrations;
+import models.Money;
+import models.User;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Headless nightly run: computes every user's insights report and stores it, as text and HTML, in
+// insights_snapshots under the run date. Users are paged by id and handed to a fixed pool of
+// workers; the queue in front of them is bounded, so paging waits when the workers fall behind.
+// Users that already have a snapshot for the run date are not paged at all, so running again with
+// the same date after a crash carries on from where the last run stopped, and retries failures.
+//
+// Usage: InsightsBatchJob [run date, yyyy-mm-dd] [workers]
+// The figures are always as of now; pass the date only to resume a run that crossed midnight.
+public class InsightsBatchJob {
+
+    private static final int PAGE_SIZE = 500;
+    // Each worker holds up to two pooled connections at once (see InsightsStats.load), and with a
+    // full queue the paging thread runs a task too, so at most (pool size - 1) / 2 workers fit
+    private static final int DEFAULT_WORKERS = 4;
+    private static final long PROGRESS_INTERVAL_MS = 10_000;
+
+    private static final TextReportRenderer TEXT = new TextReportRenderer();
+    private static final HtmlReportRenderer HTML = new HtmlReportRenderer();
+
+    private final LocalDate runDate;
+    private final int workers;
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    public InsightsBatchJob(LocalDate runDate, int workers) {
+        this.runDate = runDate;
+        this.workers = Math.max(1, Math.min(workers, maxWorkers()));
+        if (this.workers != workers) {
+            System.out.println("⚠️ " + workers + " workers requested; using " + this.workers +
+                    " (a pool of " + DatabaseConnection.getPoolStats().getMaxSize() + " connections fits at most " + maxWorkers() + ")");
+        }
+    }
+
+    // More would leave workers waiting on each other's connections and timing out
+    public static int maxWorkers() {
+        return Math.max(1, (DatabaseConnection.getPoolStats().getMaxSize() - 1) / 2);
+    }
+
+    public BatchStats run() throws SQLException, InterruptedException {
+        int alreadyDone;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            alreadyDone = InsightsSnapshots.countForDate(conn, runDate);
+        }
+        if (alreadyDone > 0) {
+            System.out.println("Resuming run for " + runDate + ": " + alreadyDone + " users already done");
+        }
+
+        long start = System.nanoTime();
+        long nextProgress = System.currentTimeMillis() + PROGRESS_INTERVAL_MS;
+        // When the queue is full the paging thread runs the task itself, which holds it back
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 4), new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            int afterUserId = 0;
+            List<User> page;
+            while (!(page = nextPage(afterUserId)).isEmpty()) {
+                for (User user : page) {
+                    pool.execute(() -> process(user));
+                }
+                afterUserId = page.get(page.size() - 1).getUserId();
+
+                if (System.currentTimeMillis() >= nextProgress) {
+                    System.out.println(stats(alreadyDone, start));
+                    nextProgress = System.currentTimeMillis() + PROGRESS_INTERVAL_MS;
+                }
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        return stats(alreadyDone, start);
+    }
+
+    // The next users after afterUserId that have no snapshot for the run date yet
+    private List<User> nextPage(int afterUserId) throws SQLException {
+        List<User> users = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            String query = "SELECT u.user_id, u.username, u.email, u.phone_number, u.current_balance " +
+                    "FROM users u " +
+                    "LEFT JOIN " + InsightsSnapshots.TABLE + " s ON s.user_id = u.user_id AND s.run_date = ? " +
+                    "WHERE u.user_id > ? AND s.user_id IS NULL " +
+                    "ORDER BY u.user_id LIMIT ?";
+            PreparedStatement pstmt = conn.prepareStatement(query);
+            pstmt.setDate(1, Date.valueOf(runDate));
+            pstmt.setInt(2, afterUserId);
+            pstmt.setInt(3, PAGE_SIZE);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                users.add(new User(rs.getInt("user_id"), rs.getString("username"), rs.getString("email"),
+                        rs.getString("phone_number"), Money.read(rs, "current_balance")));
+            }
+        }
+        return users;
+    }
+
+    private void process(User user) {
+        try {
+            // Read first: a transaction landing mid-way makes the snapshot look older, never newer
+            long ledgerVersion = InsightsCache.ledgerVersion(user.getUserId());
+            InsightsReport report = new InsightsGenerator(user).getReport();
+            String text = TEXT.render(report);
+            String html = HTML.render(report);
+
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                InsightsSnapshots.save(conn, user.getUserId(), runDate, ledgerVersion, report.getBalance(),
+                        report.getSavings().getMonthIncome(), report.getSavings().getMonthExpenses(), text, html);
+            }
+            processed.incrementAndGet();
+        } catch (SQLException | RuntimeException e) {
+            // No snapshot is written, so the next run with this date picks the user up again
+            failed.incrementAndGet();
+            System.out.println("❌ Insights failed for user " + user.getUserId() + ": " + e.getMessage());
+        }
+    }
+
+    private BatchStats stats(int alreadyDone, long startNanos) {
+        return new BatchStats(runDate, processed.get(), failed.get(), alreadyDone,
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    public static class BatchStats {
+        private final LocalDate runDate;
+        private final int processed;
+        private final int failed;
+        private final int alreadyDone;
+        private final long elapsedMs;
+
+        BatchStats(LocalDate runDate, int processed, int failed, int alreadyDone, long elapsedMs) {
+            this.runDate = runDate;
+            this.processed = processed;
+            this.failed = failed;
+            this.alreadyDone = alreadyDone;
+            this.elapsedMs = elapsedMs;
+        }
+
+        public LocalDate getRunDate() { return runDate; }
+        public int getProcessed() { return processed; }
+        public int getFailed() { return failed; }
+        public int getAlreadyDone() { return alreadyDone; }
+        public long getElapsedMs() { return elapsedMs; }
+
+        public double getUsersPerSecond() {
+            return elapsedMs == 0 ? 0 : processed * 1000.0 / elapsedMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("InsightsBatch[date=%s, processed=%d, failed=%d, alreadyDone=%d, elapsed=%.1fs, rate=%.1f users/s]",
+                    runDate, processed, failed, alreadyDone, elapsedMs / 1000.0, getUsersPerSecond());
+        }
+    }
+
+    public static void main(String[] args) {
+        LocalDate runDate = args.length > 0 ? LocalDate.parse(args[0]) : LocalDate.now();
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_WORKERS;
+
+        SchemaMigrations.migrate();
+        try {
+            BatchStats stats = new InsightsBatchJob(runDate, workers).run();
+            System.out.println((stats.getFailed() == 0 ? "✅ " : "⚠️ ") + stats);
+        } catch (SQLException | InterruptedException e) {
+            System.out.println("❌ Batch failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package utils;
+
+import Database.DatabaseConnection;
+import models.TransactionStore;
+import models.User;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Insights reports, and their text and HTML renderings, kept per (user, ledger version, day). The
+// report is computed once per key and each format is rendered from it on first request. The ledger
+// version is the highest transaction id the report was built from: the caller's store view when it
+// is up to date with the database, otherwise the database's own (one index lookup), and the report
+// is then read from the rollups instead of the stale view. "This month" and "today" figures make
+// the day part of the key. Entries are dropped least recently used past MAX_ENTRIES and after MAX_AGE_MS.
+public class InsightsCache {
+
+    private static final int MAX_ENTRIES = 100;
+    private static final long MAX_AGE_MS = 15 * 60_000;
+
+    // Access-ordered, so the eldest entry is the least recently used
+    private static final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static final TextReportRenderer TEXT = new TextReportRenderer();
+    private static final HtmlReportRenderer HTML = new HtmlReportRenderer();
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+
+    public static InsightsReport report(User user, TransactionStore.View view) throws SQLException {
+        view = current(user.getUserId(), view);
+        return report(entry(user.getUserId(), view), user, view);
+    }
+
+    public static String text(User user, TransactionStore.View view) throws SQLException {
+        view = current(user.getUserId(), view);
+        Entry entry = entry(user.getUserId(), view);
+        String text = entry.text;
+        if (text != null) {
+            hits.incrementAndGet();
+            return text;
+        }
+        text = TEXT.render(report(entry, user, view));
+        entry.text = text;
+        return text;
+    }
+
+    public static String html(User user, TransactionStore.View view) throws SQLException {
+        view = current(user.getUserId(), view);
+        Entry entry = entry(user.getUserId(), view);
+        String html = entry.html;
+        if (html != null) {
+            hits.incrementAndGet();
+            return html;
+        }
+        html = HTML.render(report(entry, user, view));
+        entry.html = html;
+        return html;
+    }
+
+    // A miss is one computation of the statistics; rendering another format from a cached report counts as a hit
+    private static InsightsReport report(Entry entry, User user, TransactionStore.View view) throws SQLException {
+        InsightsReport report = entry.report;
+        if (report != null) {
+            hits.incrementAndGet();
+            return report;
+        }
+        misses.incrementAndGet();
+        // Computed outside the lock; two callers racing on a cold entry both compute and one result is kept
+        report = new InsightsGenerator(user, view).getReport();
+        entry.report = report;
+        return report;
+    }
+
+    // Drops every entry for a user, e.g. after their history was rewritten rather than appended to
+    public static void invalidate(int userId) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.userId == userId);
+        }
+    }
+
+    public static long ledgerVersion(int userId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            PreparedStatement pstmt = conn.prepareStatement(
+                    "SELECT COALESCE(MAX(transaction_id), 0) FROM transactions WHERE user_id = ?");
+            pstmt.setInt(1, userId);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    // The view if it holds every transaction the database has for the user. A view behind the
+    // database (another client added rows it has not picked up) gives null, so the report is read
+    // from the rollups rather than cached under a version the view does not contain.
+    private static TransactionStore.View current(int userId, TransactionStore.View view) throws SQLException {
+        if (view != null && view.getMaxTransactionId() < ledgerVersion(userId)) {
+            return null;
+        }
+        return view;
+    }
+
+    // Keyed by the view's own highest id when there is one, so the entry matches the rows the report is built from
+    private static Entry entry(int userId, TransactionStore.View view) throws SQLException {
+        long version = view != null ? view.getMaxTransactionId() : ledgerVersion(userId);
+        Key key = new Key(userId, version, LocalDate.now());
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            expire(now);
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(now);
+                entries.put(key, entry);
+                while (entries.size() > MAX_ENTRIES) {
+                    Iterator<Key> eldest = entries.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+            return entry;
+        }
+    }
+
+    private static void expire(long now) {
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().getValue().created >= MAX_AGE_MS) {
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public static CacheStats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(size, hits.get(), misses.get(), evictions.get());
+    }
+
+    public static class CacheStats {
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+
+        CacheStats(int size, long hits, long misses, long evictions) {
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        public int getSize() { return size; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("InsightsCache[size=%d, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d]",
+                    size, hits, misses, getHitRate() * 100, evictions);
+        }
+    }
+
+    private static class Entry {
+        private final long created;
+        private volatile InsightsReport report;
+        private volatile String text;
+        private volatile String html;
+
+        Entry(long created) {
+            this.created = created;
+        }
+    }
+
+    private static class Key {
+        private final int userId;
+        private final long version;
+        private final LocalDate day;
+
+        Key(int userId, long version, LocalDate day) {
+            this.userId = userId;
+            this.version = version;
+            this.day = day;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return userId == key.userId && version == key.version && day.equals(key.day);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, version, day);
+        }
+    }
+}
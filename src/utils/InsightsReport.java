@@ -0,0 +1,173 @@
+package utils;
+
+import models.Money;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// Everything the insights sections show, worked out once from InsightsStats and the user's balance.
+// Renderers (see ReportRenderer) only format these figures, so the same report can be shown as
+// text and exported as HTML without running the statistics again. Immutable once built.
+public class InsightsReport {
+
+    private final LocalDate generatedOn;
+    private final long balance;
+    private final Spending spending;
+    private final Savings savings;
+    private final Comparison comparison;
+    private final Recommendations recommendations;
+
+    public InsightsReport(LocalDate generatedOn, long balance, Spending spending, Savings savings,
+                          Comparison comparison, Recommendations recommendations) {
+        this.generatedOn = generatedOn;
+        this.balance = balance;
+        this.spending = spending;
+        this.savings = savings;
+        this.comparison = comparison;
+        this.recommendations = recommendations;
+    }
+
+    public static InsightsReport build(InsightsStats stats, long balance) {
+        return new InsightsReport(LocalDate.now(), balance,
+                Spending.of(stats), Savings.of(stats), Comparison.of(stats), Recommendations.of(stats, balance));
+    }
+
+    public LocalDate getGeneratedOn() { return generatedOn; }
+    public long getBalance() { return balance; }
+    public Spending getSpending() { return spending; }
+    public Savings getSavings() { return savings; }
+    public Comparison getComparison() { return comparison; }
+    public Recommendations getRecommendations() { return recommendations; }
+
+    public static class Spending {
+        private final long averageDaily;
+        private final List<Map.Entry<String, Long>> topCategories;
+        private final List<Map.Entry<String, Long>> categories;
+
+        Spending(long averageDaily, List<Map.Entry<String, Long>> topCategories, List<Map.Entry<String, Long>> categories) {
+            this.averageDaily = averageDaily;
+            this.topCategories = Collections.unmodifiableList(new ArrayList<>(topCategories));
+            this.categories = Collections.unmodifiableList(new ArrayList<>(categories));
+        }
+
+        public static Spending of(InsightsStats stats) {
+            return new Spending(stats.getAverageDailySpending(), stats.getTopCategories(5), stats.getCategoryExpenses());
+        }
+
+        public long getAverageDaily() { return averageDaily; }
+        // Largest five, largest first
+        public List<Map.Entry<String, Long>> getTopCategories() { return topCategories; }
+        // Every category, largest first
+        public List<Map.Entry<String, Long>> getCategories() { return categories; }
+    }
+
+    public static class Savings {
+        private final YearMonth month;
+        private final long totalIncome;
+        private final long totalExpenses;
+        private final long monthIncome;
+        private final long monthExpenses;
+
+        Savings(YearMonth month, long totalIncome, long totalExpenses, long monthIncome, long monthExpenses) {
+            this.month = month;
+            this.totalIncome = totalIncome;
+            this.totalExpenses = totalExpenses;
+            this.monthIncome = monthIncome;
+            this.monthExpenses = monthExpenses;
+        }
+
+        public static Savings of(InsightsStats stats) {
+            return new Savings(stats.getCurrentMonth(), stats.getTotalIncome(), stats.getTotalExpenses(),
+                    stats.getMonthIncome(), stats.getMonthExpenses());
+        }
+
+        public YearMonth getMonth() { return month; }
+        public long getTotalIncome() { return totalIncome; }
+        public long getTotalExpenses() { return totalExpenses; }
+        public long getTotalSavings() { return totalIncome - totalExpenses; }
+        public long getMonthIncome() { return monthIncome; }
+        public long getMonthExpenses() { return monthExpenses; }
+        public long getMonthSavings() { return monthIncome - monthExpenses; }
+
+        // Only meaningful when there was income this month
+        public boolean hasSavingsRate() { return monthIncome > 0; }
+        public double getSavingsRate() { return Money.percent(getMonthSavings(), monthIncome); }
+    }
+
+    public static class Comparison {
+        // Newest first; empty or one month when there is not enough history
+        private final List<YearMonth> months;
+        private final long[] income;
+        private final long[] expenses;
+
+        Comparison(List<YearMonth> months, long[] income, long[] expenses) {
+            this.months = Collections.unmodifiableList(new ArrayList<>(months));
+            this.income = income;
+            this.expenses = expenses;
+        }
+
+        public static Comparison of(InsightsStats stats) {
+            List<YearMonth> months = stats.getComparisonMonths();
+            long[] income = new long[months.size()];
+            long[] expenses = new long[months.size()];
+            for (int i = 0; i < months.size(); i++) {
+                income[i] = stats.getMonthIncome(months.get(i));
+                expenses[i] = stats.getMonthExpenses(months.get(i));
+            }
+            return new Comparison(months, income, expenses);
+        }
+
+        public boolean isAvailable() { return months.size() == 2; }
+        public YearMonth getLatestMonth() { return months.get(0); }
+        public YearMonth getPreviousMonth() { return months.get(1); }
+
+        // Percentage change from the previous month to the latest one
+        public double getExpenseChange() { return Money.percent(expenses[0] - expenses[1], expenses[1]); }
+        public double getIncomeChange() { return Money.percent(income[0] - income[1], income[1]); }
+    }
+
+    public static class Recommendations {
+        public static final int EMERGENCY_FUND_MONTHS = 6;
+        public static final long INVESTMENT_THRESHOLD = Money.ofMajor(50000);
+
+        private final long averageMonthlyIncome;
+        private final long averageMonthlyExpenses;
+        private final long balance;
+
+        Recommendations(long averageMonthlyIncome, long averageMonthlyExpenses, long balance) {
+            this.averageMonthlyIncome = averageMonthlyIncome;
+            this.averageMonthlyExpenses = averageMonthlyExpenses;
+            this.balance = balance;
+        }
+
+        public static Recommendations of(InsightsStats stats, long balance) {
+            return new Recommendations(stats.getAverageMonthlyIncome(), stats.getAverageMonthlyExpenses(), balance);
+        }
+
+        public long getAverageMonthlyIncome() { return averageMonthlyIncome; }
+        public long getAverageMonthlyExpenses() { return averageMonthlyExpenses; }
+
+        public boolean hasEmergencyFundGoal() { return averageMonthlyExpenses > 0; }
+        public long getEmergencyFund() { return averageMonthlyExpenses * EMERGENCY_FUND_MONTHS; }
+        public long getEmergencyShortfall() { return Math.max(0, getEmergencyFund() - balance); }
+        public long getMonthlySavingsNeeded() { return Money.average(getEmergencyShortfall(), EMERGENCY_FUND_MONTHS); }
+
+        // Saving for the fund would take more than 30% of income
+        public boolean isSavingsTargetSteep() {
+            return averageMonthlyIncome > 0 && getMonthlySavingsNeeded() > Money.times(averageMonthlyIncome, 0.3);
+        }
+
+        public boolean canInvest() { return balance > INVESTMENT_THRESHOLD; }
+        public long getInvestAmount() { return Money.times(balance, 0.3); }
+
+        public boolean isOverspending() { return averageMonthlyExpenses > Money.times(averageMonthlyIncome, 0.5); }
+
+        // The 50/30/20 split of average income
+        public long getNeeds() { return Money.times(averageMonthlyIncome, 0.5); }
+        public long getWants() { return Money.times(averageMonthlyIncome, 0.3); }
+        public long getSavingsShare() { return Money.times(averageMonthlyIncome, 0.2); }
+    }
+}
@@ -0,0 +1,343 @@
+package utils;
+
+import Database.CategoryRegistry;
+import Database.DatabaseConnection;
+import Database.RollupTables;
+import models.Money;
+import models.TransactionStore;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+
+// Every statistic the insights sections need, filled in one pass. Amounts are in minor units (see Money).
+public class InsightsStats {
+
+    private static final String DEPOSIT = "DEPOSIT";
+    private static final String WITHDRAWAL = "WITHDRAWAL";
+    private static final int AVERAGE_MONTHS = 3;
+    private static final int COMPARISON_WINDOW_MONTHS = 3;
+    // Below this many rows a store scan stays on the calling thread
+    private static final int PARALLEL_THRESHOLD = 50_000;
+
+    private static final ExecutorService QUERIES = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final YearMonth currentMonth;
+    private final Map<LocalDate, Long> dailyExpenses = new HashMap<>();
+    private final Map<String, Long> categoryExpenses = new HashMap<>();
+    private final TreeMap<YearMonth, long[]> monthlyTotals = new TreeMap<>();
+    private long totalIncome;
+    private long totalExpenses;
+
+    public InsightsStats() {
+        this(YearMonth.now());
+    }
+
+    public InsightsStats(YearMonth currentMonth) {
+        this.currentMonth = currentMonth;
+    }
+
+    // Reads the pre-aggregated rollups, so cost tracks the number of active days and months, not
+    // transactions. The two rollups are independent, so the daily one is read on a second pooled
+    // connection while this thread reads the monthly one.
+    public static InsightsStats load(int userId) throws SQLException {
+        InsightsStats stats = new InsightsStats();
+        CategoryRegistry.Snapshot categories = CategoryRegistry.get();
+        Future<Map<LocalDate, Long>> daily = QUERIES.submit(() -> loadDailyExpenses(userId));
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            String monthlyQuery = "SELECT month_start, category_id, type, total " +
+                    "FROM " + RollupTables.MONTHLY_TABLE + " WHERE user_id = ?";
+            PreparedStatement monthlyStmt = conn.prepareStatement(monthlyQuery);
+            monthlyStmt.setInt(1, userId);
+            ResultSet monthlyRs = monthlyStmt.executeQuery();
+            while (monthlyRs.next()) {
+                stats.addMonth(YearMonth.from(monthlyRs.getDate("month_start").toLocalDate()),
+                        categories.nameOf(monthlyRs.getInt("category_id")),
+                        monthlyRs.getString("type"),
+                        Money.read(monthlyRs, "total"));
+            }
+        } catch (SQLException e) {
+            daily.cancel(true);
+            throw e;
+        }
+
+        for (Map.Entry<LocalDate, Long> day : await(daily).entrySet()) {
+            stats.addDay(day.getKey(), day.getValue());
+        }
+        return stats;
+    }
+
+    private static Map<LocalDate, Long> loadDailyExpenses(int userId) throws SQLException {
+        Map<LocalDate, Long> days = new HashMap<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            String dailyQuery = "SELECT day, expenses FROM " + RollupTables.DAILY_TABLE + " " +
+                    "WHERE user_id = ? AND expenses > 0";
+            PreparedStatement dailyStmt = conn.prepareStatement(dailyQuery);
+            dailyStmt.setInt(1, userId);
+            ResultSet dailyRs = dailyStmt.executeQuery();
+            while (dailyRs.next()) {
+                days.put(dailyRs.getDate("day").toLocalDate(), Money.read(dailyRs, "expenses"));
+            }
+        }
+        return days;
+    }
+
+    private static <T> T await(Future<T> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while loading insights", e);
+        }
+    }
+
+    // Scans the in-memory store: rows are summed into primitive per-month and per-day totals, and
+    // each day and month is handed over once rather than once per transaction. Large histories are
+    // split at day boundaries and the pieces scanned in parallel on the common fork/join pool.
+    public static InsightsStats from(TransactionStore.View view) {
+        InsightsStats stats = new InsightsStats();
+        int size = view.size();
+        if (size == 0) {
+            return stats;
+        }
+
+        YearMonth firstMonth = YearMonth.from(LocalDate.ofEpochDay(view.getEpochDay(0)));
+        YearMonth lastMonth = YearMonth.from(LocalDate.ofEpochDay(view.getEpochDay(size - 1)));
+        int months = (int) firstMonth.until(lastMonth, ChronoUnit.MONTHS) + 1;
+        Scan scan = new Scan(view, firstMonth, months, 0, size);
+        Partial totals = size >= PARALLEL_THRESHOLD ? ForkJoinPool.commonPool().invoke(scan) : scan.compute();
+
+        for (int d = 0; d < totals.dayCount; d++) {
+            stats.addDay(LocalDate.ofEpochDay(totals.days[d]), totals.dayExpenses[d]);
+        }
+        for (int m = 0; m < months; m++) {
+            YearMonth yearMonth = firstMonth.plusMonths(m);
+            if (totals.income[m] > 0) {
+                stats.addMonth(yearMonth, null, DEPOSIT, totals.income[m]);
+            }
+            for (int c = 0; c < totals.expenses[m].length; c++) {
+                if (totals.expenses[m][c] > 0) {
+                    stats.addMonth(yearMonth, view.getCategoryName(c), WITHDRAWAL, totals.expenses[m][c]);
+                }
+            }
+        }
+        return stats;
+    }
+
+    // Totals for one run of rows: income by month, expenses by month and category code, and the
+    // expenses of each day with spending, in day order
+    private static class Partial {
+        private final long[] income;
+        private final long[][] expenses;
+        private int[] days = new int[64];
+        private long[] dayExpenses = new long[64];
+        private int dayCount;
+
+        Partial(int months, int categories) {
+            income = new long[months];
+            expenses = new long[months][categories];
+        }
+
+        void addDay(int day, long amount) {
+            if (dayCount == days.length) {
+                days = Arrays.copyOf(days, dayCount * 2);
+                dayExpenses = Arrays.copyOf(dayExpenses, dayCount * 2);
+            }
+            days[dayCount] = day;
+            dayExpenses[dayCount++] = amount;
+        }
+
+        // other covers the rows straight after this one's, starting on a later day
+        Partial merge(Partial other) {
+            for (int m = 0; m < income.length; m++) {
+                income[m] += other.income[m];
+                for (int c = 0; c < expenses[m].length; c++) {
+                    expenses[m][c] += other.expenses[m][c];
+                }
+            }
+            for (int d = 0; d < other.dayCount; d++) {
+                addDay(other.days[d], other.dayExpenses[d]);
+            }
+            return this;
+        }
+    }
+
+    private static class Scan extends RecursiveTask<Partial> {
+        private final TransactionStore.View view;
+        private final YearMonth firstMonth;
+        private final int months;
+        private final int from;
+        private final int to;
+
+        Scan(TransactionStore.View view, YearMonth firstMonth, int months, int from, int to) {
+            this.view = view;
+            this.firstMonth = firstMonth;
+            this.months = months;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from >= PARALLEL_THRESHOLD) {
+                // Split where a new day starts so no day is counted in both halves
+                int mid = (from + to) >>> 1;
+                int midDay = view.getEpochDay(mid);
+                while (mid > from && view.getEpochDay(mid - 1) == midDay) {
+                    mid--;
+                }
+                if (mid > from) {
+                    Scan right = new Scan(view, firstMonth, months, mid, to);
+                    right.fork();
+                    Partial left = new Scan(view, firstMonth, months, from, mid).compute();
+                    return left.merge(right.join());
+                }
+            }
+            return scanRows();
+        }
+
+        private Partial scanRows() {
+            Partial totals = new Partial(months, view.getCategoryCount());
+            YearMonth startMonth = YearMonth.from(LocalDate.ofEpochDay(view.getEpochDay(from)));
+            int month = (int) firstMonth.until(startMonth, ChronoUnit.MONTHS);
+            long nextMonthDay = startMonth.plusMonths(1).atDay(1).toEpochDay();
+            int day = view.getEpochDay(from);
+            long dayExpenses = 0;
+            for (int i = from; i < to; i++) {
+                int rowDay = view.getEpochDay(i);
+                if (rowDay != day) {
+                    if (dayExpenses > 0) {
+                        totals.addDay(day, dayExpenses);
+                    }
+                    day = rowDay;
+                    dayExpenses = 0;
+                    while (rowDay >= nextMonthDay) {
+                        month++;
+                        nextMonthDay = firstMonth.plusMonths(month + 1).atDay(1).toEpochDay();
+                    }
+                }
+
+                long amount = view.getAmountMinor(i);
+                if (view.getType(i) == TransactionStore.DEPOSIT) {
+                    totals.income[month] += amount;
+                } else {
+                    totals.expenses[month][view.getCategoryCode(i)] += amount;
+                    dayExpenses += amount;
+                }
+            }
+            if (dayExpenses > 0) {
+                totals.addDay(day, dayExpenses);
+            }
+            return totals;
+        }
+    }
+
+    // Feeds one raw transaction into both the daily and the monthly figures
+    public void accumulate(LocalDate day, String category, String type, long amount) {
+        addMonth(YearMonth.from(day), category, type, amount);
+        if (WITHDRAWAL.equals(type)) {
+            addDay(day, amount);
+        }
+    }
+
+    public void addMonth(YearMonth month, String category, String type, long amount) {
+        long[] totals = monthlyTotals.computeIfAbsent(month, m -> new long[2]);
+
+        if (DEPOSIT.equals(type)) {
+            totalIncome += amount;
+            totals[0] += amount;
+        } else if (WITHDRAWAL.equals(type)) {
+            totalExpenses += amount;
+            totals[1] += amount;
+            categoryExpenses.merge(category, amount, Long::sum);
+        }
+    }
+
+    public void addDay(LocalDate day, long expenses) {
+        dailyExpenses.merge(day, expenses, Long::sum);
+    }
+
+    public long getTotalIncome() { return totalIncome; }
+    public long getTotalExpenses() { return totalExpenses; }
+    public long getTotalSavings() { return totalIncome - totalExpenses; }
+    public YearMonth getCurrentMonth() { return currentMonth; }
+
+    public long getMonthIncome() { return getMonthIncome(currentMonth); }
+    public long getMonthExpenses() { return getMonthExpenses(currentMonth); }
+
+    public long getMonthIncome(YearMonth month) {
+        long[] totals = monthlyTotals.get(month);
+        return totals != null ? totals[0] : 0;
+    }
+
+    public long getMonthExpenses(YearMonth month) {
+        long[] totals = monthlyTotals.get(month);
+        return totals != null ? totals[1] : 0;
+    }
+
+    // Average over the days on which something was spent
+    public long getAverageDailySpending() {
+        long sum = 0;
+        for (long total : dailyExpenses.values()) {
+            sum += total;
+        }
+        return Money.average(sum, dailyExpenses.size());
+    }
+
+    // Category expense totals, largest first
+    public List<Map.Entry<String, Long>> getCategoryExpenses() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(categoryExpenses.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        return entries;
+    }
+
+    public List<Map.Entry<String, Long>> getTopCategories(int limit) {
+        List<Map.Entry<String, Long>> entries = getCategoryExpenses();
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    public long getAverageMonthlyIncome() {
+        return averageOfRecentMonths(0);
+    }
+
+    public long getAverageMonthlyExpenses() {
+        return averageOfRecentMonths(1);
+    }
+
+    private long averageOfRecentMonths(int column) {
+        long sum = 0;
+        int months = 0;
+        for (long[] totals : monthlyTotals.descendingMap().values()) {
+            if (totals[column] == 0) continue;
+            sum += totals[column];
+            if (++months == AVERAGE_MONTHS) break;
+        }
+        return Money.average(sum, months);
+    }
+
+    // The two most recent months with activity inside the comparison window, newest first
+    public List<YearMonth> getComparisonMonths() {
+        YearMonth cutoff = currentMonth.minusMonths(COMPARISON_WINDOW_MONTHS);
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month : monthlyTotals.descendingKeySet()) {
+            if (month.isBefore(cutoff) || months.size() == 2) break;
+            if (month.isAfter(currentMonth)) continue;
+            months.add(month);
+        }
+        return months;
+    }
+}
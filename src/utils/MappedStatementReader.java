@@ -0,0 +1,383 @@
+package utils;
+
+import models.Transaction;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Reads a CSV statement by memory-mapping it and parsing byte ranges in parallel. Ranges are cut
+// at line boundaries; within a line, dates, amounts and status are read straight from the mapped
+// bytes (amounts as long minor units), and only the description and category become Strings.
+public class MappedStatementReader {
+
+    private static final int HEADER_SEARCH_LINES = 100;
+    private static final int MIN_RANGE_BYTES = 1 << 20;
+    private static final int MAX_FIELDS = 32;
+
+    public static class Statement {
+        private final List<Transaction> transactions;
+        private final int skipped;
+
+        Statement(List<Transaction> transactions, int skipped) {
+            this.transactions = transactions;
+            this.skipped = skipped;
+        }
+
+        // In file order; id and balance_after are 0 until the rows are written
+        public List<Transaction> getTransactions() { return transactions; }
+        public int getSkipped() { return skipped; }
+    }
+
+    public static Statement read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(file.getName() + " is larger than 2 GB; split it before importing");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int limit = (int) size;
+
+            // The header is the one line decoded as a String; bank exports may put account details above it
+            int bodyStart = -1;
+            StatementImporter.Columns columns = null;
+            int lineStart = skipBom(buffer, limit);
+            for (int line = 0; line < HEADER_SEARCH_LINES && lineStart < limit; line++) {
+                int lineEnd = lineEnd(buffer, lineStart, limit);
+                String text = decode(buffer, lineStart, lineEnd);
+                if (StatementImporter.isHeader(text)) {
+                    columns = StatementImporter.Columns.fromHeader(StatementImporter.splitLine(text));
+                    bodyStart = Math.min(lineEnd + 1, limit);
+                    break;
+                }
+                lineStart = lineEnd + 1;
+            }
+            if (columns == null) {
+                throw new IOException("No statement header found in " + file.getName());
+            }
+
+            int[] bounds = splitRanges(buffer, bodyStart, limit);
+            StatementImporter.Columns cols = columns;
+            List<RangeResult> results = IntStream.range(0, bounds.length - 1)
+                    .parallel()
+                    .mapToObj(i -> new RangeParser(buffer, cols).parse(bounds[i], bounds[i + 1]))
+                    .collect(Collectors.toList());
+
+            List<Transaction> transactions = new ArrayList<>();
+            int skipped = 0;
+            for (RangeResult result : results) {
+                transactions.addAll(result.transactions);
+                skipped += result.skipped;
+            }
+            return new Statement(transactions, skipped);
+        }
+    }
+
+    // Cuts [start, limit) into roughly one range per core, each ending just after a newline
+    private static int[] splitRanges(MappedByteBuffer buffer, int start, int limit) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int ranges = (int) Math.max(1, Math.min(cores * 4L, (limit - start) / MIN_RANGE_BYTES));
+        int step = Math.max(1, (limit - start) / ranges);
+
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(start);
+        int next = start + step;
+        while (next < limit) {
+            int cut = lineEnd(buffer, next, limit) + 1;
+            if (cut >= limit) break;
+            bounds.add(cut);
+            next = cut + step;
+        }
+        bounds.add(limit);
+        return bounds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int skipBom(MappedByteBuffer buffer, int limit) {
+        if (limit >= 3 && (buffer.get(0) & 0xFF) == 0xEF && (buffer.get(1) & 0xFF) == 0xBB && (buffer.get(2) & 0xFF) == 0xBF) {
+            return 3;
+        }
+        return 0;
+    }
+
+    // Index of the '\n' ending the line that contains pos, or limit
+    private static int lineEnd(MappedByteBuffer buffer, int pos, int limit) {
+        while (pos < limit && buffer.get(pos) != '\n') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static String decode(MappedByteBuffer buffer, int from, int to) {
+        if (to > from && buffer.get(to - 1) == '\r') to--;
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class RangeResult {
+        final List<Transaction> transactions = new ArrayList<>();
+        int skipped;
+    }
+
+    // Parses one byte range. Only absolute reads touch the shared buffer, and scratch space is
+    // per parser, so ranges run independently
+    private static class RangeParser {
+        private final MappedByteBuffer buffer;
+        private final StatementImporter.Columns columns;
+        private final int[] fieldStart = new int[MAX_FIELDS];
+        private final int[] fieldEnd = new int[MAX_FIELDS];
+        private byte[] scratch = new byte[256];
+
+        RangeParser(MappedByteBuffer buffer, StatementImporter.Columns columns) {
+            this.buffer = buffer;
+            this.columns = columns;
+        }
+
+        RangeResult parse(int from, int to) {
+            RangeResult result = new RangeResult();
+            int pos = from;
+            while (pos < to) {
+                int end = lineEnd(buffer, pos, to);
+                int lineTo = end > pos && buffer.get(end - 1) == '\r' ? end - 1 : end;
+                if (lineTo > pos) {
+                    Transaction t = parseLine(pos, lineTo);
+                    if (t != null) {
+                        result.transactions.add(t);
+                    } else if (!isBlank(pos, lineTo)) {
+                        result.skipped++;
+                    }
+                }
+                pos = end + 1;
+            }
+            return result;
+        }
+
+        // Returns null for unparseable or not-completed lines
+        private Transaction parseLine(int from, int to) {
+            int fields = splitFields(from, to);
+
+            if (columns.status >= 0 && columns.status < fields && fieldEnd[columns.status] > fieldStart[columns.status]
+                    && !equalsIgnoreCase(columns.status, "completed")) {
+                return null;
+            }
+
+            LocalDateTime date = columns.date >= 0 && columns.date < fields ? parseDate(fieldStart[columns.date], fieldEnd[columns.date]) : null;
+            if (date == null) return null;
+
+            long credit = amount(columns.credit, fields);
+            long debit = Math.abs(amount(columns.debit, fields));
+            if (columns.amount >= 0) {
+                long signed = amount(columns.amount, fields);
+                if (signed >= 0) credit = signed; else debit = -signed;
+            }
+
+            String type;
+            long minor;
+            if (credit > 0) {
+                type = "DEPOSIT";
+                minor = credit;
+            } else if (debit > 0) {
+                type = "WITHDRAWAL";
+                minor = debit;
+            } else {
+                return null;
+            }
+
+            return new Transaction(0, type, minor, text(columns.category, fields),
+                    text(columns.description, fields), Timestamp.valueOf(date), 0);
+        }
+
+        // Records where each field starts and ends; quotes are kept inside the offsets
+        private int splitFields(int from, int to) {
+            int count = 0;
+            int start = from;
+            boolean quoted = false;
+            for (int i = from; i < to; i++) {
+                byte b = buffer.get(i);
+                if (b == '"') {
+                    quoted = !quoted;
+                } else if (b == ',' && !quoted) {
+                    if (count < MAX_FIELDS) {
+                        fieldStart[count] = start;
+                        fieldEnd[count] = i;
+                    }
+                    count++;
+                    start = i + 1;
+                }
+            }
+            if (count < MAX_FIELDS) {
+                fieldStart[count] = start;
+                fieldEnd[count] = to;
+            }
+            return Math.min(count + 1, MAX_FIELDS);
+        }
+
+        // Amount in minor units (cents); thousands separators, currency text and quotes are ignored,
+        // a leading '-' or surrounding parentheses make it negative, extra decimals are rounded half up
+        private long amount(int field, int fields) {
+            if (field < 0 || field >= fields) return 0;
+            long whole = 0;
+            long cents = 0;
+            int decimals = -1;
+            boolean negative = false;
+            boolean roundUp = false;
+            for (int i = fieldStart[field]; i < fieldEnd[field]; i++) {
+                byte b = buffer.get(i);
+                if (b >= '0' && b <= '9') {
+                    if (decimals < 0) {
+                        whole = whole * 10 + (b - '0');
+                    } else if (decimals < 2) {
+                        cents = cents * 10 + (b - '0');
+                        decimals++;
+                    } else if (decimals == 2) {
+                        roundUp = b >= '5';
+                        decimals++;
+                    }
+                } else if (b == '.') {
+                    decimals = 0;
+                } else if (b == '-' || b == '(') {
+                    negative = true;
+                }
+            }
+            if (decimals == 1) cents *= 10;
+            long minor = whole * 100 + cents + (roundUp ? 1 : 0);
+            return negative ? -minor : minor;
+        }
+
+        // yyyy-MM-dd, dd/MM/yyyy, dd-MM-yyyy or "dd MMM yyyy", each optionally followed by HH:mm[:ss]
+        private LocalDateTime parseDate(int from, int to) {
+            while (from < to && (buffer.get(from) == ' ' || buffer.get(from) == '"')) from++;
+            while (to > from && (buffer.get(to - 1) == ' ' || buffer.get(to - 1) == '"')) to--;
+            if (to - from < 10) return null;
+
+            int year;
+            int month;
+            int day;
+            int pos;
+            if (buffer.get(from + 4) == '-') {
+                year = digits(from, 4);
+                month = digits(from + 5, 2);
+                day = digits(from + 8, 2);
+                pos = from + 10;
+            } else if (buffer.get(from + 2) == '/' || buffer.get(from + 2) == '-') {
+                day = digits(from, 2);
+                month = digits(from + 3, 2);
+                year = digits(from + 6, 4);
+                pos = from + 10;
+            } else if (buffer.get(from + 2) == ' ' && to - from >= 11) {
+                day = digits(from, 2);
+                month = monthNumber(from + 3);
+                year = digits(from + 7, 4);
+                pos = from + 11;
+            } else {
+                return null;
+            }
+            if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) return null;
+
+            int hour = 0;
+            int minute = 0;
+            int second = 0;
+            if (pos + 6 <= to && buffer.get(pos) == ' ' && buffer.get(pos + 3) == ':') {
+                hour = digits(pos + 1, 2);
+                minute = digits(pos + 4, 2);
+                if (pos + 9 <= to && buffer.get(pos + 6) == ':') {
+                    second = digits(pos + 7, 2);
+                }
+                if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) return null;
+            }
+
+            try {
+                return LocalDateTime.of(year, month, day, hour, minute, second);
+            } catch (java.time.DateTimeException e) {
+                return null;
+            }
+        }
+
+        // -1 if any byte is not a digit
+        private int digits(int from, int count) {
+            int value = 0;
+            for (int i = from; i < from + count; i++) {
+                byte b = buffer.get(i);
+                if (b < '0' || b > '9') return -1;
+                value = value * 10 + (b - '0');
+            }
+            return value;
+        }
+
+        private int monthNumber(int from) {
+            int a = buffer.get(from) | 0x20;
+            int b = buffer.get(from + 1) | 0x20;
+            int c = buffer.get(from + 2) | 0x20;
+            switch ((a << 16) | (b << 8) | c) {
+                case ('j' << 16) | ('a' << 8) | 'n': return 1;
+                case ('f' << 16) | ('e' << 8) | 'b': return 2;
+                case ('m' << 16) | ('a' << 8) | 'r': return 3;
+                case ('a' << 16) | ('p' << 8) | 'r': return 4;
+                case ('m' << 16) | ('a' << 8) | 'y': return 5;
+                case ('j' << 16) | ('u' << 8) | 'n': return 6;
+                case ('j' << 16) | ('u' << 8) | 'l': return 7;
+                case ('a' << 16) | ('u' << 8) | 'g': return 8;
+                case ('s' << 16) | ('e' << 8) | 'p': return 9;
+                case ('o' << 16) | ('c' << 8) | 't': return 10;
+                case ('n' << 16) | ('o' << 8) | 'v': return 11;
+                case ('d' << 16) | ('e' << 8) | 'c': return 12;
+                default: return -1;
+            }
+        }
+
+        private boolean equalsIgnoreCase(int field, String expected) {
+            int from = fieldStart[field];
+            int to = fieldEnd[field];
+            while (from < to && (buffer.get(from) == ' ' || buffer.get(from) == '"')) from++;
+            while (to > from && (buffer.get(to - 1) == ' ' || buffer.get(to - 1) == '"')) to--;
+            if (to - from != expected.length()) return false;
+            for (int i = 0; i < expected.length(); i++) {
+                if ((buffer.get(from + i) | 0x20) != expected.charAt(i)) return false;
+            }
+            return true;
+        }
+
+        // Decodes a text field, removing surrounding quotes and un-doubling inner ones
+        private String text(int field, int fields) {
+            if (field < 0 || field >= fields) return null;
+            int from = fieldStart[field];
+            int to = fieldEnd[field];
+            while (from < to && buffer.get(from) == ' ') from++;
+            while (to > from && buffer.get(to - 1) == ' ') to--;
+            if (to - from >= 2 && buffer.get(from) == '"' && buffer.get(to - 1) == '"') {
+                from++;
+                to--;
+            }
+            if (to <= from) return null;
+
+            if (scratch.length < to - from) {
+                scratch = new byte[Math.max(scratch.length * 2, to - from)];
+            }
+            int length = 0;
+            for (int i = from; i < to; i++) {
+                byte b = buffer.get(i);
+                if (b == '"' && i + 1 < to && buffer.get(i + 1) == '"') {
+                    i++;
+                }
+                scratch[length++] = b;
+            }
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private boolean isBlank(int from, int to) {
+            for (int i = from; i < to; i++) {
+                byte b = buffer.get(i);
+                if (b != ' ' && b != ',' && b != '\t') return false;
+            }
+            return true;
+        }
+    }
+}
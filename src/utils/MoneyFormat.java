@@ -0,0 +1,62 @@
+package utils;
+
+import java.io.IOException;
+
+// The one KSH formatter: "KSH 1,234,567.89", the same text String.format("KSH %,.2f", ...)
+// gives, but written digit groups at a time straight into the caller's buffer. Nothing is
+// parsed per call and appending allocates nothing beyond the buffer growing.
+public class MoneyFormat {
+
+    public static final String CURRENCY = "KSH";
+
+    private static final long[] POWERS_OF_1000 = {
+            1L, 1_000L, 1_000_000L, 1_000_000_000L, 1_000_000_000_000L,
+            1_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private static final ThreadLocal<StringBuilder> SCRATCH = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    // amount is in minor units (see models.Money)
+    public static StringBuilder appendKSH(StringBuilder out, long amount) {
+        out.append(CURRENCY).append(' ');
+        return appendAmount(out, amount);
+    }
+
+    // Grouped amount without the currency, e.g. "-1,234.50"
+    public static StringBuilder appendAmount(StringBuilder out, long amount) {
+        if (amount < 0) {
+            out.append('-');
+        }
+        long abs = Math.abs(amount);
+        long major = abs / 100;
+        int cents = (int) (abs % 100);
+
+        int group = 0;
+        while (group + 1 < POWERS_OF_1000.length && major >= POWERS_OF_1000[group + 1]) {
+            group++;
+        }
+        out.append(major / POWERS_OF_1000[group]);
+        for (group--; group >= 0; group--) {
+            int digits = (int) (major / POWERS_OF_1000[group] % 1000);
+            out.append(',');
+            if (digits < 100) out.append('0');
+            if (digits < 10) out.append('0');
+            out.append(digits);
+        }
+
+        out.append('.');
+        if (cents < 10) out.append('0');
+        return out.append(cents);
+    }
+
+    // For writers and other non-StringBuilder sinks; formats through a per-thread scratch buffer
+    public static void appendKSH(Appendable out, long amount) throws IOException {
+        StringBuilder scratch = SCRATCH.get();
+        scratch.setLength(0);
+        out.append(appendKSH(scratch, amount));
+    }
+
+    public static String formatKSH(long amount) {
+        return appendKSH(new StringBuilder(24), amount).toString();
+    }
+}
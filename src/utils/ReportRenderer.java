@@ -0,0 +1,15 @@
+package utils;
+
+// Turns computed reports into one output format. Renderers hold no per-report state, so one
+// instance can be shared between threads; add a format by adding an implementation.
+public interface ReportRenderer {
+
+    String render(InsightsReport report);
+
+    String renderSummary(InsightsReport report);
+
+    String renderWeekly(WeeklyReport report);
+
+    // What to show in place of a report that could not be computed
+    String renderError(String message);
+}
@@ -0,0 +1,299 @@
+package utils;
+
+import Database.CategoryRegistry;
+import Database.DatabaseConnection;
+import Database.RollupTables;
+import Database.TransactionDAO;
+import models.Money;
+import models.Transaction;
+import javax.swing.*;
+import java.io.File;
+import java.io.IOException;
+import java.sql.*;
+import java.util.*;
+
+// Bulk import of bank and M-Pesa CSV statements. The file is parsed in parallel by
+// MappedStatementReader, categories are resolved through CategoryRegistry, and rows go in through JDBC batches with one
+// commit per batch (each batch carries its own rollup totals). The balances are settled once, at
+// the end: balance_after from the first imported date on, and the user's stored balance.
+public class StatementImporter {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    // Lower-case description keyword -> category name; only used when that category exists
+    private static final Map<String, String> KEYWORD_CATEGORIES = new LinkedHashMap<>();
+
+    static {
+        KEYWORD_CATEGORIES.put("salary", "Salary");
+        KEYWORD_CATEGORIES.put("airtime", "Bills & Utilities");
+        KEYWORD_CATEGORIES.put("kplc", "Bills & Utilities");
+        KEYWORD_CATEGORIES.put("water", "Bills & Utilities");
+        KEYWORD_CATEGORIES.put("uber", "Transportation");
+        KEYWORD_CATEGORIES.put("bolt", "Transportation");
+        KEYWORD_CATEGORIES.put("fuel", "Transportation");
+        KEYWORD_CATEGORIES.put("restaurant", "Food & Dining");
+        KEYWORD_CATEGORIES.put("cafe", "Food & Dining");
+        KEYWORD_CATEGORIES.put("supermarket", "Shopping");
+        KEYWORD_CATEGORIES.put("pharmacy", "Healthcare");
+        KEYWORD_CATEGORIES.put("hospital", "Healthcare");
+    }
+
+    public interface Progress {
+        void update(int rowsImported, int totalRows);
+    }
+
+    public static class Result {
+        private final int imported;
+        private final int skipped;
+        private final long netChange;
+        private final long newBalance;
+
+        Result(int imported, int skipped, long netChange, long newBalance) {
+            this.imported = imported;
+            this.skipped = skipped;
+            this.netChange = netChange;
+            this.newBalance = newBalance;
+        }
+
+        public int getImported() { return imported; }
+        public int getSkipped() { return skipped; }
+        public long getNetChange() { return netChange; }
+        public long getNewBalance() { return newBalance; }
+    }
+
+    // Runs the import on a SwingWorker with a progress dialog; call on the EDT. onDone runs on the EDT after success.
+    public static void importWithProgress(int userId, File file, JFrame parent, Runnable onDone) {
+        ProgressMonitor monitor = new ProgressMonitor(parent, "Importing " + file.getName(), "Parsing...", 0, 100);
+        monitor.setMillisToDecideToPopup(300);
+
+        SwingWorker<Result, Void> worker = new SwingWorker<Result, Void>() {
+            @Override
+            protected Result doInBackground() throws Exception {
+                return importFile(userId, file, DEFAULT_BATCH_SIZE, (rows, total) ->
+                        setProgress(total == 0 ? 100 : Math.min(100, rows * 100 / total)));
+            }
+
+            @Override
+            protected void done() {
+                monitor.close();
+                try {
+                    Result result = get();
+                    onDone.run();
+                    JOptionPane.showMessageDialog(parent,
+                            "✅ Imported " + result.getImported() + " transactions" +
+                                    (result.getSkipped() > 0 ? " (" + result.getSkipped() + " lines skipped)" : "") + "\n" +
+                                    "Net change: " + MoneyFormat.formatKSH(result.getNetChange()) + "\n" +
+                                    "New Balance: " + MoneyFormat.formatKSH(result.getNewBalance()),
+                            "Import Complete",
+                            JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    e.getCause().printStackTrace();
+                    JOptionPane.showMessageDialog(parent,
+                            "❌ Import failed: " + e.getCause().getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName())) {
+                int percent = (Integer) evt.getNewValue();
+                monitor.setProgress(percent);
+                monitor.setNote(percent + "% saved");
+            }
+        });
+        worker.execute();
+    }
+
+    public static Result importFile(int userId, File file, int batchSize, Progress progress) throws IOException, SQLException {
+        MappedStatementReader.Statement statement = MappedStatementReader.read(file);
+        List<Transaction> rows = new ArrayList<>(statement.getTransactions());
+        // Statements are often newest first; balances are built oldest first. The sort is stable.
+        rows.sort(Comparator.comparing(Transaction::getDate));
+
+        return write(userId, rows, statement.getSkipped(), batchSize, progress);
+    }
+
+    // Each batch commits its rows and their rollup totals. The balances follow once, at the end:
+    // under the user's row lock, balance_after is recomputed from the first imported date (the rows
+    // are back-dated, so every later row moves too) and the stored balance is moved by the net of
+    // the committed batches. Until then imported rows carry a placeholder balance_after. If a batch
+    // fails, it is undone and the same final step runs for the batches that did commit.
+    private static Result write(int userId, List<Transaction> rows, int skipped, int batchSize, Progress progress) throws SQLException {
+        long committedNet = 0;
+        int committedRows = 0;
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            CategoryRegistry.Snapshot categories = CategoryRegistry.get();
+            if (rows.isEmpty()) {
+                return new Result(0, skipped, 0, TransactionDAO.readBalance(conn, userId));
+            }
+
+            conn.setAutoCommit(false);
+            String insert = "INSERT INTO transactions (user_id, category_id, amount, type, description, balance_after, transaction_date) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+            PreparedStatement insertStmt = conn.prepareStatement(insert);
+            Timestamp from = rows.get(0).getDate();
+
+            try {
+                for (int start = 0; start < rows.size(); start += batchSize) {
+                    List<Transaction> batch = rows.subList(start, Math.min(start + batchSize, rows.size()));
+                    RollupTables.Delta delta = new RollupTables.Delta();
+                    long batchNet = 0;
+
+                    for (Transaction row : batch) {
+                        int categoryId = resolveCategory(row, categories);
+                        long minor = row.getAmount();
+                        batchNet += row.getType().equals("DEPOSIT") ? minor : -minor;
+
+                        insertStmt.setInt(1, userId);
+                        insertStmt.setInt(2, categoryId);
+                        Money.bind(insertStmt, 3, row.getAmount());
+                        insertStmt.setString(4, row.getType());
+                        insertStmt.setString(5, row.getDescription());
+                        // Placeholder; recomputeBalances sets the real value at the end
+                        Money.bind(insertStmt, 6, 0);
+                        insertStmt.setTimestamp(7, row.getDate());
+                        insertStmt.addBatch();
+
+                        delta.add(categoryId, row.getType(), row.getDate().toLocalDateTime().toLocalDate(), row.getAmount());
+                    }
+
+                    insertStmt.executeBatch();
+                    RollupTables.applyDelta(conn, userId, delta);
+                    conn.commit();
+
+                    committedNet += batchNet;
+                    committedRows += batch.size();
+                    progress.update(committedRows, rows.size());
+                }
+                long newBalance = settleBalances(conn, userId, from, committedNet);
+                return new Result(committedRows, skipped, committedNet, newBalance);
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                if (committedRows > 0) {
+                    // The batches that did commit keep their rows, so their balances must follow
+                    try {
+                        settleBalances(conn, userId, from, committedNet);
+                    } catch (SQLException | RuntimeException settleFailure) {
+                        e.addSuppressed(settleFailure);
+                    }
+                }
+                throw e;
+            }
+        }
+    }
+
+    // One transaction under the user's row lock, so no row is added while balances are rewritten
+    private static long settleBalances(Connection conn, int userId, Timestamp from, long net) throws SQLException {
+        try {
+            TransactionDAO.lockBalance(conn, userId);
+            TransactionDAO.recomputeBalances(conn, userId, from);
+            long newBalance = TransactionDAO.adjustBalance(conn, userId, net);
+            conn.commit();
+            return newBalance;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                conn.rollback();
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+    }
+
+    private static int resolveCategory(Transaction row, CategoryRegistry.Snapshot categories) {
+        CategoryRegistry.Category match = categories.byName(row.getCategory());
+        if (match != null) return match.getId();
+
+        if (row.getDescription() != null) {
+            String description = row.getDescription().toLowerCase();
+            for (Map.Entry<String, String> rule : KEYWORD_CATEGORIES.entrySet()) {
+                if (description.contains(rule.getKey())) {
+                    match = categories.byName(rule.getValue());
+                    if (match != null) return match.getId();
+                }
+            }
+        }
+        CategoryRegistry.Category fallback = categories.firstOfType(row.getType().equals("DEPOSIT") ? "INCOME" : "EXPENSE");
+        return fallback != null ? fallback.getId() : 1;
+    }
+
+    // The header is the first line naming both a date column and an amount column
+    static boolean isHeader(String line) {
+        String lower = line.toLowerCase();
+        return (lower.contains("date") || lower.contains("completion time")) &&
+                (lower.contains("amount") || lower.contains("paid in") || lower.contains("debit") || lower.contains("withdrawn"));
+    }
+
+    // Splits one CSV line, honouring double-quoted fields ("" inside quotes is a literal quote)
+    static String[] splitLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    // Column positions, found by header name so bank and M-Pesa layouts share one parser
+    static class Columns {
+        int date = -1;
+        int description = -1;
+        int credit = -1;
+        int debit = -1;
+        int amount = -1;
+        int category = -1;
+        int status = -1;
+
+        static Columns fromHeader(String[] header) {
+            Columns columns = new Columns();
+            for (int i = 0; i < header.length; i++) {
+                String name = header[i].trim().toLowerCase();
+                if (columns.date < 0 && (name.equals("completion time") || name.contains("date"))) {
+                    columns.date = i;
+                } else if (name.equals("details") || name.contains("description") || name.contains("narration") || name.contains("particulars")) {
+                    columns.description = i;
+                } else if (name.equals("paid in") || name.contains("credit") || name.contains("money in") || name.contains("deposit")) {
+                    columns.credit = i;
+                } else if (name.equals("withdrawn") || name.contains("debit") || name.contains("money out") || name.contains("withdrawal")) {
+                    columns.debit = i;
+                } else if (name.equals("amount")) {
+                    columns.amount = i;
+                } else if (name.equals("category")) {
+                    columns.category = i;
+                } else if (name.contains("status")) {
+                    columns.status = i;
+                }
+            }
+            return columns;
+        }
+    }
+}
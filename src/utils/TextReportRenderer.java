@@ -0,0 +1,339 @@
+package utils;
+
+import models.Money;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+// Plain text for the insights card, the weekly report card and text exports
+public class TextReportRenderer implements ReportRenderer {
+
+    private static final String RULE = "══════════════════════════════════════════════════════════════\n";
+    private static final String SUB_RULE = "──────────────────────────────────────────────────────\n";
+
+    @Override
+    public String render(InsightsReport report) {
+        StringBuilder out = new StringBuilder(4096);
+        out.append("╔════════════════════════════════════════════════════════════╗\n");
+        out.append("║           FINANCIAL INSIGHTS & RECOMMENDATIONS            ║\n");
+        out.append("╚════════════════════════════════════════════════════════════╝\n\n");
+
+        appendSpending(out, report);
+        appendSavings(out, report);
+        appendComparison(out, report);
+        appendRecommendations(out, report);
+
+        out.append("\n").append(RULE);
+        out.append("📌 Keep tracking your finances daily!\n");
+        out.append("Generated on: ").append(report.getGeneratedOn().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy")));
+        return out.toString();
+    }
+
+    @Override
+    public String renderSummary(InsightsReport report) {
+        InsightsReport.Savings savings = report.getSavings();
+        StringBuilder out = new StringBuilder();
+        out.append(" QUICK FINANCIAL SUMMARY\n");
+        out.append(RULE).append("\n");
+        out.append("💰 Current Balance: ").append(formatKSH(report.getBalance())).append("\n\n");
+        out.append("📅 This Month:\n");
+        out.append("  • Income: ").append(formatKSH(savings.getMonthIncome())).append("\n");
+        out.append("  • Expenses: ").append(formatKSH(savings.getMonthExpenses())).append("\n");
+        out.append("  • Net: ").append(formatKSH(savings.getMonthSavings())).append("\n");
+        return out.toString();
+    }
+
+    @Override
+    public String renderWeekly(WeeklyReport report) {
+        StringBuilder out = new StringBuilder(6144);
+        out.append("                    WEEKLY SPENDING REPORT                 \n");
+        out.append("Period: ").append(report.getStartDate()).append(" to ").append(report.getEndDate()).append("\n\n");
+        out.append("SPENDING BY CATEGORY\n");
+        out.append(SUB_RULE);
+        for (Map.Entry<String, Long> entry : report.getCategories()) {
+            appendReportLine(out, entry.getKey(), entry.getValue());
+        }
+
+        out.append("\n");
+        out.append(SUB_RULE);
+        appendReportLine(out, "TOTAL SPENT:", report.getTotalSpent());
+        appendReportLine(out, "TOTAL INCOME:", report.getTotalIncome());
+        appendReportLine(out, "NET CHANGE:", report.getNetChange());
+
+        out.append("\n");
+        out.append(render(report.getInsights()));
+        return out.toString();
+    }
+
+    @Override
+    public String renderError(String message) {
+        return message;
+    }
+
+    public String renderSpending(InsightsReport report) {
+        return appendSpending(new StringBuilder(), report).toString();
+    }
+
+    public String renderSavings(InsightsReport report) {
+        return appendSavings(new StringBuilder(), report).toString();
+    }
+
+    public String renderComparison(InsightsReport report) {
+        return appendComparison(new StringBuilder(), report).toString();
+    }
+
+    public String renderRecommendations(InsightsReport report) {
+        return appendRecommendations(new StringBuilder(), report).toString();
+    }
+
+    private StringBuilder appendSpending(StringBuilder out, InsightsReport report) {
+        InsightsReport.Spending spending = report.getSpending();
+        out.append("\n💰 SPENDING ANALYSIS\n");
+        out.append(RULE);
+
+        long avgDaily = spending.getAverageDaily();
+        out.append("• Average daily spending: ").append(formatKSH(avgDaily)).append("\n");
+        if (avgDaily > Money.ofMajor(2000)) {
+            out.append("  ⚠️ Your daily spending is high. Consider setting a daily limit of ").append(formatKSH(Money.ofMajor(1500))).append("\n");
+        } else if (avgDaily > Money.ofMajor(1000)) {
+            out.append("  ✅ Your daily spending is moderate. You're doing well!\n");
+        } else if (avgDaily > 0) {
+            out.append("  🌟 Excellent! Your daily spending is very controlled.\n");
+        }
+
+        out.append("\n📈 TOP SPENDING CATEGORIES\n");
+        out.append(SUB_RULE);
+        int rank = 1;
+        for (Map.Entry<String, Long> entry : spending.getTopCategories()) {
+            String category = entry.getKey();
+            out.append("  ").append(rank).append(". ").append(category);
+            pad(out, category, 20);
+            MoneyFormat.appendKSH(out.append(' '), entry.getValue()).append('\n');
+            rank++;
+        }
+
+        for (Map.Entry<String, Long> entry : spending.getCategories()) {
+            appendCategoryTip(out, entry.getKey(), entry.getValue());
+        }
+        return out;
+    }
+
+    private void appendCategoryTip(StringBuilder out, String category, long amount) {
+        if (category.equalsIgnoreCase("Food & Dining") && amount > Money.ofMajor(5000)) {
+            out.append("\n🍽️ FOOD & DINING TIPS:\n");
+            out.append("  • You spent ").append(formatKSH(amount)).append(" on food this month.\n");
+            out.append("  • Try meal prepping to save up to 30%\n");
+            out.append("  • Use cashback apps like Zina or PesaPal\n");
+        }
+        else if (category.equalsIgnoreCase("Shopping") && amount > Money.ofMajor(3000)) {
+            out.append("\n🛍️ SHOPPING TIPS:\n");
+            out.append("  • You spent ").append(formatKSH(amount)).append(" on shopping.\n");
+            out.append("  • Wait 24 hours before making non-essential purchases\n");
+        }
+        else if (category.equalsIgnoreCase("Transportation") && amount > Money.ofMajor(2000)) {
+            out.append("\n🚗 TRANSPORTATION TIPS:\n");
+            out.append("  • You spent ").append(formatKSH(amount)).append(" on transport.\n");
+            out.append("  • Consider using public transport like matatus/SGR\n");
+            out.append("  • Use ride-sharing apps during off-peak hours\n");
+        }
+        else if (category.equalsIgnoreCase("Entertainment") && amount > Money.ofMajor(1500)) {
+            out.append("\n🎬 ENTERTAINMENT TIPS:\n");
+            out.append("  • You spent ").append(formatKSH(amount)).append(" on entertainment.\n");
+            out.append("  • Look for free community events in Nairobi\n");
+            out.append("  • Share streaming service subscriptions with family\n");
+        }
+        else if (category.equalsIgnoreCase("Bills & Utilities") && amount > Money.ofMajor(4000)) {
+            out.append("\n💡 UTILITIES TIPS:\n");
+            out.append("  • You spent ").append(formatKSH(amount)).append(" on utilities.\n");
+            out.append("  • Consider energy-efficient appliances\n");
+            out.append("  • Turn off lights and electronics when not in use\n");
+        }
+        else if (category.equalsIgnoreCase("Healthcare") && amount > Money.ofMajor(3000)) {
+            out.append("\n🏥 HEALTHCARE TIPS:\n");
+            out.append("  • You spent ").append(formatKSH(amount)).append(" on healthcare.\n");
+            out.append("  • Check if you qualify for NHIF benefits\n");
+            out.append("  • Compare medicine prices at different pharmacies\n");
+        }
+    }
+
+    private StringBuilder appendSavings(StringBuilder out, InsightsReport report) {
+        InsightsReport.Savings savings = report.getSavings();
+        out.append("\n\n💰 SAVINGS ANALYSIS\n");
+        out.append(RULE);
+
+        out.append("• Total Lifetime Income: ").append(formatKSH(savings.getTotalIncome())).append("\n");
+        out.append("• Total Lifetime Expenses: ").append(formatKSH(savings.getTotalExpenses())).append("\n");
+        out.append("• Total Lifetime Savings: ").append(formatKSH(savings.getTotalSavings())).append("\n");
+
+        String currentMonth = report.getGeneratedOn().format(DateTimeFormatter.ofPattern("MMMM"));
+        out.append("\n📅 THIS MONTH (").append(currentMonth).append(")\n");
+        out.append("  • Income: ").append(formatKSH(savings.getMonthIncome())).append("\n");
+        out.append("  • Expenses: ").append(formatKSH(savings.getMonthExpenses())).append("\n");
+        out.append("  • Savings: ").append(formatKSH(savings.getMonthSavings())).append("\n");
+
+        if (savings.hasSavingsRate()) {
+            double savingsRate = savings.getSavingsRate();
+            out.append("\n📊 SAVINGS RATE: ").append(String.format("%.1f%%", savingsRate)).append("\n");
+
+            if (savingsRate >= 50) {
+                out.append("  🌟 EXCELLENT! You're saving more than 50% of your income!\n");
+                out.append("  • Consider investing your extra savings in Sacco or Money Market Funds\n");
+                out.append("  • Look into M-Shwari or KCB M-PESA savings accounts\n");
+            } else if (savingsRate >= 30) {
+                out.append("  👍 GREAT! You're saving 30-50% of your income.\n");
+                out.append("  • You're on track for financial independence!\n");
+                out.append("  • Consider increasing your emergency fund\n");
+            } else if (savingsRate >= 20) {
+                out.append("  ✅ GOOD! You're saving 20-30% of your income.\n");
+                out.append("  • This is the recommended savings rate\n");
+                out.append("  • Keep up the good work!\n");
+            } else if (savingsRate >= 10) {
+                out.append("  ⚠️ You're saving 10-20% of your income.\n");
+                out.append("  • Try to cut back on discretionary spending\n");
+                out.append("  • Aim for 20% savings rate\n");
+            } else if (savingsRate >= 0) {
+                out.append("  🔴 URGENT: Your savings rate is below 10%.\n");
+                out.append("  • Review your expenses and cut unnecessary costs\n");
+                out.append("  • Try the 50/30/20 budgeting rule:\n");
+                out.append("    - 50% Needs (rent, food, bills)\n");
+                out.append("    - 30% Wants (entertainment, shopping)\n");
+                out.append("    - 20% Savings & Investments\n");
+            } else {
+                out.append("  🔴 NEGATIVE: You're spending more than you earn!\n");
+                out.append("  • Immediate action needed to reduce expenses\n");
+                out.append("  • Look for ways to increase income (side hustle, freelance)\n");
+            }
+        }
+        return out;
+    }
+
+    private StringBuilder appendComparison(StringBuilder out, InsightsReport report) {
+        InsightsReport.Comparison comparison = report.getComparison();
+        out.append("\n\n📊 MONTH-OVER-MONTH COMPARISON\n");
+        out.append(RULE);
+
+        if (comparison.isAvailable()) {
+            double expenseChange = comparison.getExpenseChange();
+            double incomeChange = comparison.getIncomeChange();
+
+            out.append("• ").append(monthName(comparison.getLatestMonth().getMonthValue()))
+                    .append(" vs ").append(monthName(comparison.getPreviousMonth().getMonthValue())).append(":\n");
+
+            if (expenseChange > 0) {
+                out.append(String.format("  📈 Spending increased by %.1f%%\n", expenseChange));
+                out.append("  • Review what caused this increase\n");
+                out.append("  • Try to identify one area to cut back\n");
+            } else if (expenseChange < 0) {
+                out.append(String.format("  📉 Great job! Spending decreased by %.1f%%\n", Math.abs(expenseChange)));
+            }
+
+            if (incomeChange > 0) {
+                out.append(String.format("  📈 Income increased by %.1f%%\n", incomeChange));
+            } else if (incomeChange < 0) {
+                out.append(String.format("  📉 Income decreased by %.1f%%\n", Math.abs(incomeChange)));
+            }
+        } else {
+            out.append("• Not enough data for month-over-month comparison yet.\n");
+            out.append("• Add more transactions to see trends!\n");
+        }
+        return out;
+    }
+
+    private StringBuilder appendRecommendations(StringBuilder out, InsightsReport report) {
+        InsightsReport.Recommendations recommendations = report.getRecommendations();
+        out.append("\n\n💡 SMART RECOMMENDATIONS\n");
+        out.append(RULE);
+
+        if (recommendations.hasEmergencyFundGoal()) {
+            int months = InsightsReport.Recommendations.EMERGENCY_FUND_MONTHS;
+            out.append("\n💰 EMERGENCY FUND\n");
+            out.append(SUB_RULE);
+            out.append("• Goal: ").append(formatKSH(recommendations.getEmergencyFund()))
+                    .append(" (").append(months).append(" months of expenses)\n");
+
+            if (recommendations.getEmergencyShortfall() > 0) {
+                out.append("  ⚠️ You need ").append(formatKSH(recommendations.getEmergencyShortfall()))
+                        .append(" more to reach your emergency fund goal.\n");
+                out.append("  • Try to save ").append(formatKSH(recommendations.getMonthlySavingsNeeded()))
+                        .append(" per month for the next ").append(months).append(" months\n");
+
+                if (recommendations.isSavingsTargetSteep()) {
+                    out.append("  • This is more than 30% of your income - consider:\n");
+                    out.append("    - Reducing non-essential spending\n");
+                    out.append("    - Finding additional income sources\n");
+                    out.append("    - Extending your savings timeline\n");
+                }
+            } else {
+                out.append("  ✅ Congratulations! You have a fully-funded emergency fund!\n");
+                out.append("  • Consider investing excess funds for growth\n");
+            }
+        }
+
+        if (recommendations.canInvest()) {
+            out.append("\n📈 INVESTMENT OPPORTUNITIES\n");
+            out.append(SUB_RULE);
+            out.append("• Consider investing ").append(formatKSH(recommendations.getInvestAmount()))
+                    .append(" (30% of your savings)\n");
+
+            out.append("• investment options:\n");
+            out.append("  - 📊 Money Market Funds: 8-10% returns (Cytonn, Britam)\n");
+            out.append("  - 🏦 Sacco Accounts: 10-12% dividends\n");
+            out.append("  - 📈 Treasury Bills/Bonds: Government-backed\n");
+            out.append("  - 🏠 Chama Investments: Group saving power\n");
+            out.append("  - 📱 M-Shwari/KCB M-PESA: 4-6% interest\n");
+        }
+
+        if (recommendations.isOverspending()) {
+            out.append("\n💳 DEBT MANAGEMENT\n");
+            out.append(SUB_RULE);
+            out.append("• Your expenses are >50% of income\n");
+            out.append("• Debt reduction strategies:\n");
+            out.append("  - 🎯 Debt Snowball: Pay smallest debts first\n");
+            out.append("  - 📉 Debt Avalanche: Pay highest interest first\n");
+            out.append("  - 🤝 Consolidation: Single loan with lower rate\n");
+        }
+
+        out.append("\n📋 BUDGETING RULE (50/30/20)\n");
+        out.append(SUB_RULE);
+        if (recommendations.getAverageMonthlyIncome() > 0) {
+            out.append("• Based on your income of ").append(formatKSH(recommendations.getAverageMonthlyIncome())).append("/month:\n");
+            out.append("  - 🏠 Needs (50%): ").append(formatKSH(recommendations.getNeeds())).append("\n");
+            out.append("  - 🎉 Wants (30%): ").append(formatKSH(recommendations.getWants())).append("\n");
+            out.append("  - 💰 Savings (20%): ").append(formatKSH(recommendations.getSavingsShare())).append("\n");
+        }
+
+        // Weekly money-saving tips for Kenya
+        out.append("\n📅 WEEKLY MONEY-SAVING TIPS\n");
+        out.append(SUB_RULE);
+        out.append("  • 🚫 Try a 'no-spend weekend' once a month\n");
+        out.append("  • 🍱 Pack lunch instead of buying (save ~").append(formatKSH(Money.ofMajor(500))).append("/week)\n");
+        out.append("  • ☕ Make coffee at home (save ~").append(formatKSH(Money.ofMajor(200))).append("/day)\n");
+        out.append("  • 🛒 Shop at Quickmart for cheaper groceries\n");
+        out.append("  • 🚌 Use matatus instead of taxis for short distances\n");
+        out.append("  • 📱 Use Zuku or Faiba for cheaper internet bundles\n");
+        return out;
+    }
+
+    // One "  label      KSH 1,234.00" line of the weekly report, as "  %-20s %s\n" would print it
+    private static void appendReportLine(StringBuilder out, String label, long amount) {
+        out.append("  ").append(label);
+        pad(out, label, 20);
+        MoneyFormat.appendKSH(out.append(' '), amount).append('\n');
+    }
+
+    // Left-justifies text already appended to width columns, as %-20s would
+    private static void pad(StringBuilder out, String text, int width) {
+        for (int i = text.length(); i < width; i++) {
+            out.append(' ');
+        }
+    }
+
+    private static String formatKSH(long amount) {
+        return MoneyFormat.formatKSH(amount);
+    }
+
+    static String monthName(int month) {
+        String[] months = {"January", "February", "March", "April", "May", "June",
+                "July", "August", "September", "October", "November", "December"};
+        return months[month - 1];
+    }
+}
@@ -0,0 +1,101 @@
+package utils;
+
+import Database.DatabaseConnection;
+import Database.RollupTables;
+import models.Money;
+import models.TransactionStore;
+import models.User;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// The last seven days' spending by category plus the insights report, loaded once and then
+// rendered as text for the report card or as HTML for export. Immutable once loaded.
+public class WeeklyReport {
+
+    // Public so TestIndexes can EXPLAIN the exact query
+    public static final String CATEGORY_QUERY = "SELECT c.category_name, SUM(t.amount) as total " +
+            "FROM transactions t " +
+            "JOIN categories c ON t.category_id = c.category_id " +
+            "WHERE t.user_id = ? AND t.type = 'WITHDRAWAL' " +
+            "AND t.transaction_date >= ? AND t.transaction_date < ? " +
+            "GROUP BY c.category_name " +
+            "ORDER BY total DESC";
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final LocalDateTime generatedAt;
+    private final List<Map.Entry<String, Long>> categories;
+    private final long totalSpent;
+    private final long totalIncome;
+    private final InsightsReport insights;
+
+    WeeklyReport(LocalDate startDate, LocalDate endDate, List<Map.Entry<String, Long>> categories,
+                 long totalIncome, InsightsReport insights) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.generatedAt = LocalDateTime.now();
+        this.categories = Collections.unmodifiableList(categories);
+        long spent = 0;
+        for (Map.Entry<String, Long> entry : categories) {
+            spent += entry.getValue();
+        }
+        this.totalSpent = spent;
+        this.totalIncome = totalIncome;
+        this.insights = insights;
+    }
+
+    public static WeeklyReport load(User user, TransactionStore.View view) throws SQLException {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(7);
+        List<Map.Entry<String, Long>> categories = new ArrayList<>();
+        long totalIncome = 0;
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            PreparedStatement pstmt = conn.prepareStatement(CATEGORY_QUERY);
+            pstmt.setInt(1, user.getUserId());
+            // Half-open range over the raw column so the (user_id, type, transaction_date) index applies
+            pstmt.setTimestamp(2, Timestamp.valueOf(startDate.atStartOfDay()));
+            pstmt.setTimestamp(3, Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                categories.add(new AbstractMap.SimpleImmutableEntry<>(rs.getString("category_name"), Money.read(rs, "total")));
+            }
+
+            String incomeQuery = "SELECT COALESCE(SUM(income), 0) as total FROM " + RollupTables.DAILY_TABLE + " " +
+                    "WHERE user_id = ? AND day BETWEEN ? AND ?";
+            PreparedStatement incStmt = conn.prepareStatement(incomeQuery);
+            incStmt.setInt(1, user.getUserId());
+            incStmt.setString(2, startDate.toString());
+            incStmt.setString(3, endDate.toString());
+
+            ResultSet incRs = incStmt.executeQuery();
+            if (incRs.next()) {
+                totalIncome = Money.read(incRs, "total");
+            }
+        }
+
+        return new WeeklyReport(startDate, endDate, categories, totalIncome, InsightsCache.report(user, view));
+    }
+
+    // False once the day has rolled over and the seven-day window has moved
+    public boolean isCurrent() {
+        return endDate.equals(LocalDate.now());
+    }
+
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    // Largest first
+    public List<Map.Entry<String, Long>> getCategories() { return categories; }
+    public long getTotalSpent() { return totalSpent; }
+    public long getTotalIncome() { return totalIncome; }
+    public long getNetChange() { return totalIncome - totalSpent; }
+    public InsightsReport getInsights() { return insights; }
+}